@@ -0,0 +1,54 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The real e002, e003 and e004 factories on their three built in shapes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BuiltInShapesBenchmark {
+
+    private static final String[] LOOKUPS = {"circle", "rectangle", "square"};
+
+    private final main.java.e002_factory_concrete_creator.ShapeFactory e002 =
+            new main.java.e002_factory_concrete_creator.ShapeFactory();
+    private final main.java.e004_factory_registry.ShapeFactory e004 =
+            new main.java.e004_factory_registry.ShapeFactory();
+    private int next;
+
+    private String nextLookup() {
+        String type = LOOKUPS[next];
+        next = next + 1 == LOOKUPS.length ? 0 : next + 1;
+        return type;
+    }
+
+    @Benchmark
+    public Object e002_concreteCreator() {
+        return e002.getShape(nextLookup());
+    }
+
+    @Benchmark
+    public Object e003_staticMethod() {
+        return main.java.e003_factory_static_method.ShapeFactory.getShape(nextLookup());
+    }
+
+    @Benchmark
+    public Object e004_registry() {
+        return e004.getShape(nextLookup());
+    }
+}
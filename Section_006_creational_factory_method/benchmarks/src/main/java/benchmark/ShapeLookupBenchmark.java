@@ -0,0 +1,106 @@
+package benchmark;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import main.java.e004_factory_registry.Shape;
+import main.java.e004_factory_registry.ShapeFactory;
+
+/**
+ * getShape(String) with 3, 30 and 300 registered types:
+ * the equalsIgnoreCase chain of e002/e003 against the e004 perfect hash registry.
+ * Lookups cycle through every registered type, written in lower case,
+ * so the chain pays its average cost and the registry has to fold case.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ShapeLookupBenchmark {
+
+    @Param({"3", "30", "300"})
+    int types;
+
+    private IfElseChain chain;
+    private ShapeFactory registry;
+    private String[] lookups;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        String[] names = new String[types];
+        Supplier<Shape> supplier = BenchShape::new;
+        registry = new ShapeFactory();
+        for (int i = 0; i < types; i++) {
+            // the first three are the built in shapes, the rest are generated
+            names[i] = i < 3 ? new String[]{"CIRCLE", "RECTANGLE", "SQUARE"}[i] : "SHAPE_" + i;
+            registry.register(names[i], supplier);
+        }
+        chain = new IfElseChain(names, supplier);
+
+        lookups = new String[types];
+        for (int i = 0; i < types; i++) {
+            lookups[i] = names[i].toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private String nextLookup() {
+        String type = lookups[next];
+        next = next + 1 == lookups.length ? 0 : next + 1;
+        return type;
+    }
+
+    @Benchmark
+    public Shape ifElseChain() {
+        return chain.getShape(nextLookup());
+    }
+
+    @Benchmark
+    public Shape perfectHashRegistry() {
+        return registry.getShape(nextLookup());
+    }
+
+    // the e002/e003 ShapeFactory for any number of types: one equalsIgnoreCase per branch
+    static final class IfElseChain {
+        private final String[] names;
+        private final Supplier<Shape> supplier;
+
+        IfElseChain(String[] names, Supplier<Shape> supplier) {
+            this.names = names;
+            this.supplier = supplier;
+        }
+
+        Shape getShape(String shapeType) {
+            if (shapeType == null) {
+                return null;
+            }
+            for (String name : names) {
+                if (shapeType.equalsIgnoreCase(name)) {
+                    return supplier.get();
+                }
+            }
+            return null;
+        }
+    }
+
+    static final class BenchShape implements Shape {
+        @Override
+        public void draw() {
+        }
+    }
+}
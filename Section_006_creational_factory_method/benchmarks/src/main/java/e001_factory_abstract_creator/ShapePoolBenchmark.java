@@ -0,0 +1,86 @@
+package main.java.e001_factory_abstract_creator;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Plain CircleFactory against PoolingShapeFactory, once for a single
+ * getShape()/release() pair and once for a render-loop sized batch that is
+ * bigger than the thread local free list, so the shared overflow is used too.
+ *
+ * This class lives in the factory's package because the concrete factories and
+ * shapes are package-private. Run main() (or pass -prof gc) to see
+ * gc.alloc.rate.norm, the allocated bytes per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ShapePoolBenchmark {
+
+    private static final int BATCH = 256;
+
+    private final AbstractShapeFactory plain = new CircleFactory();
+    private final PoolingShapeFactory pooled = new PoolingShapeFactory(new CircleFactory(), 64, 1024);
+
+    @State(Scope.Thread)
+    public static class Batch {
+        final Shape[] shapes = new Shape[BATCH];
+    }
+
+    @Benchmark
+    public void plainSingle(Blackhole bh) {
+        bh.consume(plain.getShape());
+    }
+
+    @Benchmark
+    public void pooledSingle(Blackhole bh) {
+        Shape shape = pooled.getShape();
+        bh.consume(shape);
+        pooled.release(shape);
+    }
+
+    @Benchmark
+    public void plainBatch(Batch batch, Blackhole bh) {
+        Shape[] shapes = batch.shapes;
+        for (int i = 0; i < shapes.length; i++) {
+            shapes[i] = plain.getShape();
+        }
+        bh.consume(shapes);
+    }
+
+    @Benchmark
+    public void pooledBatch(Batch batch, Blackhole bh) {
+        Shape[] shapes = batch.shapes;
+        for (int i = 0; i < shapes.length; i++) {
+            shapes[i] = pooled.getShape();
+        }
+        bh.consume(shapes);
+        for (int i = 0; i < shapes.length; i++) {
+            pooled.release(shapes[i]);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ShapePoolBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,34 @@
+package main.java.e001_factory_abstract_creator;
+
+public class PoolingClient {
+    public static void main(String[] args) {
+        PoolingShapeFactory circles = new PoolingShapeFactory(new CircleFactory());
+
+        // the first shape has to be created by the CircleFactory
+        Shape shape1 = circles.getShape();
+        shape1.draw();
+        circles.release(shape1);
+
+        // once released, the same object is handed out again
+        Shape shape2 = circles.getShape();
+        shape2.draw();
+        System.out.println("Same object reused: " + (shape1 == shape2));
+        circles.release(shape2);
+
+        // a shape can only go back once, and only into the pool for its own class
+        try {
+            circles.release(shape2);
+        } catch (IllegalStateException e) {
+            System.out.println("Rejected: " + e.getMessage());
+        }
+        try {
+            circles.release(new Square());
+        } catch (IllegalArgumentException e) {
+            System.out.println("Rejected: " + e.getMessage());
+        }
+
+        System.out.println("created: " + circles.getCreatedCount()
+                + ", reused: " + circles.getReusedCount()
+                + ", dropped: " + circles.getDroppedCount());
+    }
+}
@@ -0,0 +1,144 @@
+package main.java.e001_factory_abstract_creator;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An opt-in factory that recycles the shapes of another factory instead of
+ * allocating a new one on every getShape() call.
+ *
+ * Contract: hand a shape back with release() once you are done with it, and do not
+ * touch it afterwards - the next getShape() may give it to someone else.
+ * Shapes that are never released are simply left to the garbage collector.
+ *
+ * The pool hands out the wrapped factory's shapes inside a small wrapper that knows
+ * its pool and whether it is in it. release() rejects a shape that did not come from
+ * this pool, and one that is already back in it, so one object is never handed out
+ * twice. The check only looks at the wrapper, so it needs no lock.
+ *
+ * Every thread keeps its own small free list, so the common getShape()/release()
+ * pair on one thread needs no lock at all. A thread that releases more than its list
+ * can hold spills into a bounded shared overflow queue, which other threads
+ * draw from before falling back to the wrapped factory. When the overflow is full
+ * too, the shape is dropped.
+ */
+public class PoolingShapeFactory extends AbstractShapeFactory {
+
+    private final AbstractShapeFactory delegate;
+    private final int localCapacity;
+    private final ArrayBlockingQueue<PooledShape> overflow;
+    private final ThreadLocal<FreeList> freeLists;
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public PoolingShapeFactory(AbstractShapeFactory delegate) {
+        this(delegate, 64, 1024);
+    }
+
+    public PoolingShapeFactory(AbstractShapeFactory delegate, int localCapacity, int overflowCapacity) {
+        if (localCapacity < 1 || overflowCapacity < 1) {
+            throw new IllegalArgumentException("capacities must be positive");
+        }
+        this.delegate = delegate;
+        this.localCapacity = localCapacity;
+        this.overflow = new ArrayBlockingQueue<>(overflowCapacity);
+        this.freeLists = ThreadLocal.withInitial(() -> new FreeList(this.localCapacity));
+    }
+
+    @Override
+    protected Shape factoryMethod() {
+        PooledShape shape = freeLists.get().pop();
+        if (shape == null) {
+            shape = overflow.poll();
+        }
+        if (shape != null) {
+            shape.inPool = false;
+            reused.increment();
+            return shape;
+        }
+        created.increment();
+        return new PooledShape(this, delegate.getShape());
+    }
+
+    // give a shape obtained from getShape() back to the pool
+    public void release(Shape shape) {
+        if (shape == null) {
+            return;
+        }
+        if (!(shape instanceof PooledShape) || ((PooledShape) shape).owner != this) {
+            throw new IllegalArgumentException("This " + shapeName(shape) + " was not handed out by this pool");
+        }
+        PooledShape pooledShape = (PooledShape) shape;
+        if (pooledShape.inPool) {
+            throw new IllegalStateException("This " + shapeName(shape) + " has already been released");
+        }
+        pooledShape.inPool = true;
+        if (!freeLists.get().push(pooledShape) && !overflow.offer(pooledShape)) {
+            dropped.increment();
+        }
+    }
+
+    private static String shapeName(Shape shape) {
+        Shape unwrapped = shape instanceof PooledShape ? ((PooledShape) shape).shape : shape;
+        return unwrapped.getClass().getSimpleName();
+    }
+
+    public long getCreatedCount() {
+        return created.sum();
+    }
+
+    public long getReusedCount() {
+        return reused.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    // a shape of the wrapped factory as handed out by this pool; inPool is only written by the
+    // thread that holds the shape, and the overflow queue publishes it to the next one
+    static final class PooledShape implements Shape {
+        final PoolingShapeFactory owner;
+        final Shape shape;
+        boolean inPool;
+
+        PooledShape(PoolingShapeFactory owner, Shape shape) {
+            this.owner = owner;
+            this.shape = shape;
+        }
+
+        @Override
+        public void draw() {
+            shape.draw();
+        }
+    }
+
+    // a plain array stack, only ever touched by its own thread
+    private static final class FreeList {
+        private final PooledShape[] shapes;
+        private int size;
+
+        FreeList(int capacity) {
+            shapes = new PooledShape[capacity];
+        }
+
+        PooledShape pop() {
+            if (size == 0) {
+                return null;
+            }
+            PooledShape shape = shapes[--size];
+            shapes[size] = null;
+            return shape;
+        }
+
+        boolean push(PooledShape shape) {
+            if (size == shapes.length) {
+                return false;
+            }
+            shapes[size++] = shape;
+            return true;
+        }
+    }
+}
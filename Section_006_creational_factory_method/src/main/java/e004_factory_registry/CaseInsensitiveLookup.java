@@ -0,0 +1,217 @@
+package main.java.e004_factory_registry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable, case-insensitive String -> value table built as a perfect hash:
+ * every key owns its own slot, so a lookup is one hash pass over the name,
+ * two array reads and one equalsIgnoreCase to confirm the hit,
+ * however many keys are registered.
+ *
+ * The table never changes after it is built - adding a key builds a new table
+ * (see with()), which lets readers use it without any locking.
+ */
+final class CaseInsensitiveLookup<V> {
+
+    // give up on a table size after this many displacements for one bucket and try a bigger one
+    private static final int DISPLACEMENT_ATTEMPTS = 1 << 12;
+
+    private static final CaseInsensitiveLookup<?> EMPTY =
+            new CaseInsensitiveLookup<>(new String[0], new Object[0], new String[1], new Object[1], 0, new int[1]);
+
+    // registration order, kept to rebuild the table
+    private final String[] keys;
+    private final Object[] values;
+
+    // the perfect hash table itself
+    private final String[] slotKeys;
+    private final Object[] slotValues;
+    private final int mask;
+    private final int[] displacements;
+
+    private CaseInsensitiveLookup(String[] keys, Object[] values,
+                                  String[] slotKeys, Object[] slotValues, int mask, int[] displacements) {
+        this.keys = keys;
+        this.values = values;
+        this.slotKeys = slotKeys;
+        this.slotValues = slotValues;
+        this.mask = mask;
+        this.displacements = displacements;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> CaseInsensitiveLookup<V> empty() {
+        return (CaseInsensitiveLookup<V>) EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(String key) {
+        if (key == null) {
+            return null;
+        }
+        long hash = foldedHash(key);
+        int slot = slot(hash, displacements[bucket(hash, displacements.length - 1)], mask);
+        String candidate = slotKeys[slot];
+        if (candidate != null && candidate.equalsIgnoreCase(key)) {
+            return (V) slotValues[slot];
+        }
+        return null;
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    /**
+     * Returns a new table with the key added, or its value replaced
+     * if the key is already registered (ignoring case).
+     */
+    CaseInsensitiveLookup<V> with(String key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("key and value must not be null");
+        }
+
+        String[] newKeys;
+        Object[] newValues;
+        int existing = indexOf(key);
+        if (existing >= 0) {
+            newKeys = keys.clone();
+            newValues = values.clone();
+        } else {
+            newKeys = Arrays.copyOf(keys, keys.length + 1);
+            newValues = Arrays.copyOf(values, values.length + 1);
+            existing = keys.length;
+        }
+        newKeys[existing] = key;
+        newValues[existing] = value;
+        return build(newKeys, newValues);
+    }
+
+    private int indexOf(String key) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equalsIgnoreCase(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static <V> CaseInsensitiveLookup<V> build(String[] keys, Object[] values) {
+        long[] hashes = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            hashes[i] = foldedHash(keys[i]);
+        }
+
+        // hash and displace: keys are spread over buckets, then every bucket searches for
+        // a displacement that puts all of its keys into free slots, biggest buckets first.
+        // At a load factor of at most 1/2 this settles after a handful of tries per bucket.
+        int size = tableSizeFor(keys.length * 2);
+        for (int attempt = 0; attempt < 8; attempt++, size <<= 1) {
+            CaseInsensitiveLookup<V> table = tryBuild(keys, values, hashes, size);
+            if (table != null) {
+                return table;
+            }
+        }
+        // only reachable if two different names share a 64 bit hash
+        throw new IllegalStateException("cannot build a perfect hash for " + Arrays.toString(keys));
+    }
+
+    private static <V> CaseInsensitiveLookup<V> tryBuild(String[] keys, Object[] values, long[] hashes, int size) {
+        int bucketMask = tableSizeFor(keys.length) - 1;
+        List<List<Integer>> buckets = new ArrayList<>();
+        for (int b = 0; b <= bucketMask; b++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (int i = 0; i < keys.length; i++) {
+            buckets.get(bucket(hashes[i], bucketMask)).add(i);
+        }
+        Integer[] order = new Integer[buckets.size()];
+        for (int b = 0; b < order.length; b++) {
+            order[b] = b;
+        }
+        Arrays.sort(order, (a, b) -> buckets.get(b).size() - buckets.get(a).size());
+
+        int mask = size - 1;
+        String[] slotKeys = new String[size];
+        Object[] slotValues = new Object[size];
+        int[] displacements = new int[bucketMask + 1];
+        int[] slots = new int[keys.length];
+
+        for (int b : order) {
+            List<Integer> bucket = buckets.get(b);
+            if (bucket.isEmpty()) {
+                break;
+            }
+            int displacement = 0;
+            while (!fits(bucket, hashes, slotKeys, slots, displacement, mask)) {
+                if (++displacement == DISPLACEMENT_ATTEMPTS) {
+                    return null;
+                }
+            }
+            displacements[b] = displacement;
+            for (int k = 0; k < bucket.size(); k++) {
+                int i = bucket.get(k);
+                slotKeys[slots[k]] = keys[i];
+                slotValues[slots[k]] = values[i];
+            }
+        }
+        return new CaseInsensitiveLookup<>(keys, values, slotKeys, slotValues, mask, displacements);
+    }
+
+    // true if every key of the bucket lands on a distinct free slot, which are left in slots[]
+    private static boolean fits(List<Integer> bucket, long[] hashes, String[] slotKeys,
+                                int[] slots, int displacement, int mask) {
+        for (int k = 0; k < bucket.size(); k++) {
+            int slot = slot(hashes[bucket.get(k)], displacement, mask);
+            if (slotKeys[slot] != null) {
+                return false;
+            }
+            for (int j = 0; j < k; j++) {
+                if (slots[j] == slot) {
+                    return false;
+                }
+            }
+            slots[k] = slot;
+        }
+        return true;
+    }
+
+    private static int tableSizeFor(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    // same folding as String.equalsIgnoreCase, so equal-ignoring-case keys hash the same.
+    // 64 bits wide, as two names with the same hash could never be given separate slots
+    private static long foldedHash(String key) {
+        long h = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < 128) {
+                if (c >= 'A' && c <= 'Z') {
+                    c += 'a' - 'A';
+                }
+            } else {
+                c = Character.toLowerCase(Character.toUpperCase(c));
+            }
+            h = (h + c) * 0x9E3779B97F4A7C15L;
+        }
+        return h;
+    }
+
+    private static int bucket(long hash, int bucketMask) {
+        return (int) (hash >>> 40) & bucketMask;
+    }
+
+    // murmur3 64 bit finalizer, seeded with the bucket displacement
+    private static int slot(long hash, int displacement, int mask) {
+        long h = hash + displacement * 0xC2B2AE3D27D4EB4FL;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+}
@@ -0,0 +1,27 @@
+package main.java.e004_factory_registry;
+
+public class Client {
+    public static void main(String[] args) {
+        ShapeFactory shapeFactory = new ShapeFactory();
+
+        // get an object of Circle and call its draw method
+        Shape shape1 = shapeFactory.getShape("CIRCLE");
+        shape1.draw();
+
+        // get an object of Rectangle and call its draw method - the lookup ignores case
+        Shape shape2 = shapeFactory.getShape("rectangle");
+        shape2.draw();
+
+        // get an object of Square and call its draw method
+        Shape shape3 = shapeFactory.getShape("Square");
+        shape3.draw();
+
+        // register a new shape type at runtime
+        shapeFactory.register("TRIANGLE", Triangle::new);
+        Shape shape4 = shapeFactory.getShape("triangle");
+        shape4.draw();
+
+        // unknown types still give null, like the other factories
+        System.out.println(shapeFactory.getShape("HEXAGON"));
+    }
+}
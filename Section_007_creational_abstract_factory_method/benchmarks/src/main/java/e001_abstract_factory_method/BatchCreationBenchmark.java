@@ -0,0 +1,82 @@
+package e001_abstract_factory_method;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import e002_challenge.BollywoodMovie;
+import e002_challenge.FactoryProducer;
+import e002_challenge.HollywoodMovie;
+import e002_challenge.MovieFactoryInterface;
+
+/**
+ * Creating 1M objects one getShape()/getHollywoodMovie() call at a time against
+ * the batch fill() API, which matches the type once. Scores are per object.
+ *
+ * This class lives in the factory's package because AbstractFactory's methods
+ * are package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BatchCreationBenchmark {
+
+    private static final int N = 1_000_000;
+
+    private final AbstractFactory shapeFactory = e001_abstract_factory_method.FactoryProducer.getFactory("Shape");
+    private final MovieFactoryInterface movieFactory = FactoryProducer.getFactory("HollywoodMovie");
+
+    private final Shape[] shapes = new Shape[N];
+    private final HollywoodMovie[] movies = new HollywoodMovie[N];
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public Shape[] shapesPerCall() {
+        for (int i = 0; i < N; i++) {
+            shapes[i] = shapeFactory.getShape("circle");
+        }
+        return shapes;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public Shape[] shapesFill() {
+        shapeFactory.fill(shapes, "circle");
+        return shapes;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public HollywoodMovie[] moviesPerCall() {
+        for (int i = 0; i < N; i++) {
+            movies[i] = movieFactory.getHollywoodMovie("comedy");
+        }
+        return movies;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public HollywoodMovie[] moviesFill() {
+        movieFactory.fill(movies, "comedy");
+        return movies;
+    }
+
+    // the array is allocated by the factory here, so the score includes it
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public BollywoodMovie[] bollywoodMoviesBatch() {
+        return FactoryProducer.getFactory("BollywoodMovie").getBollywoodMovies("comedy", N);
+    }
+}
@@ -1,47 +1,126 @@
 package e001_abstract_factory_method;
 
+import java.util.Arrays;
+import java.util.function.Supplier;
+
 public abstract class AbstractFactory {
     abstract Color getColor(String color);
     abstract Shape getShape(String shape);
+
+    // resolve a type once, for creating many objects of it.
+    // Factories override these to skip the type matching on every object
+    Supplier<? extends Color> colorSupplier(String colorType) {
+        return () -> getColor(colorType);
+    }
+
+    Supplier<? extends Shape> shapeSupplier(String shapeType) {
+        return () -> getShape(shapeType);
+    }
+
+    // batch creation: the type is resolved once, then every slot is filled
+    Color[] getColors(String colorType, int n) {
+        Color[] colors = new Color[n];
+        fill(colors, colorType);
+        return colors;
+    }
+
+    Shape[] getShapes(String shapeType, int n) {
+        Shape[] shapes = new Shape[n];
+        fill(shapes, shapeType);
+        return shapes;
+    }
+
+    void fill(Color[] dest, String colorType) {
+        Supplier<? extends Color> supplier = colorSupplier(colorType);
+        if (supplier == null) {
+            Arrays.fill(dest, null);
+            return;
+        }
+        for (int i = 0; i < dest.length; i++) {
+            dest[i] = supplier.get();
+        }
+    }
+
+    void fill(Shape[] dest, String shapeType) {
+        Supplier<? extends Shape> supplier = shapeSupplier(shapeType);
+        if (supplier == null) {
+            Arrays.fill(dest, null);
+            return;
+        }
+        for (int i = 0; i < dest.length; i++) {
+            dest[i] = supplier.get();
+        }
+    }
+
+    // register a new type at runtime, only the matching factory supports it
+    abstract void registerColor(String colorType, Supplier<? extends Color> supplier);
+    abstract void registerShape(String shapeType, Supplier<? extends Shape> supplier);
 }
 
+// the types live in a case-insensitive perfect hash table instead of an equalsIgnoreCase chain,
+// so a lookup costs the same however many types are registered
 class ShapeFactory extends AbstractFactory{
+    private volatile CaseInsensitiveLookup<Supplier<? extends Shape>> shapes =
+            CaseInsensitiveLookup.<Supplier<? extends Shape>>empty()
+                    .with("CIRCLE", Circle::new)
+                    .with("RECTANGLE", Rectangle::new)
+                    .with("SQUARE", Square::new);
+
     Shape getShape(String shapeType) {
-        if(shapeType == null){
-            return null;
-        } else if (shapeType.equalsIgnoreCase("CIRCLE")){
-            return new Circle();
-        } else if (shapeType.equalsIgnoreCase("RECTANGLE")){
-            return new Rectangle();
-        } else if (shapeType.equalsIgnoreCase("SQUARE")){
-            return new Square();
-        }
+        Supplier<? extends Shape> supplier = shapes.get(shapeType);
+        return supplier == null ? null : supplier.get();
+    }
 
-        return  null;
+    Supplier<? extends Shape> shapeSupplier(String shapeType) {
+        return shapes.get(shapeType);
+    }
+
+    synchronized void registerShape(String shapeType, Supplier<? extends Shape> supplier) {
+        shapes = shapes.with(shapeType, supplier);
     }
 
     Color getColor(String color) {
         return null;
     }
 
+    Supplier<? extends Color> colorSupplier(String colorType) {
+        return null;
+    }
+
+    void registerColor(String colorType, Supplier<? extends Color> supplier) {
+        throw new UnsupportedOperationException("ShapeFactory does not create colors");
+    }
 }
 
 class ColorFactory extends AbstractFactory{
+    private volatile CaseInsensitiveLookup<Supplier<? extends Color>> colors =
+            CaseInsensitiveLookup.<Supplier<? extends Color>>empty()
+                    .with("RED", Red::new)
+                    .with("GREEN", Green::new)
+                    .with("BLUE", Blue::new);
+
     Color getColor(String colorType) {
-        if(colorType == null){
-            return null;
-        } else if (colorType.equalsIgnoreCase("RED")){
-            return new Red();
-        } else if (colorType.equalsIgnoreCase("GREEN")){
-            return new Green();
-        } else if (colorType.equalsIgnoreCase("BLUE")){
-            return new Blue();
-        }
+        Supplier<? extends Color> supplier = colors.get(colorType);
+        return supplier == null ? null : supplier.get();
+    }
+
+    Supplier<? extends Color> colorSupplier(String colorType) {
+        return colors.get(colorType);
+    }
 
-        return  null;
+    synchronized void registerColor(String colorType, Supplier<? extends Color> supplier) {
+        colors = colors.with(colorType, supplier);
     }
 
     Shape getShape(String shape) {
         return null;
     }
-}
\ No newline at end of file
+
+    Supplier<? extends Shape> shapeSupplier(String shapeType) {
+        return null;
+    }
+
+    void registerShape(String shapeType, Supplier<? extends Shape> supplier) {
+        throw new UnsupportedOperationException("ColorFactory does not create shapes");
+    }
+}
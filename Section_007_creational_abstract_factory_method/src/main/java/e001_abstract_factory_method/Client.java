@@ -18,5 +18,21 @@ public class Client {
         color2.fill();
         Color color3 = colorFactory.getColor("Green");
         color3.fill();
+
+
+        // batch creation: the type is matched once for all the objects
+        Shape[] circles = shapeFactory.getShapes("Circle", 3);
+        for (Shape circle : circles) {
+            circle.draw();
+        }
+        Color[] reds = new Color[2];
+        colorFactory.fill(reds, "Red");
+        for (Color red : reds) {
+            red.fill();
+        }
+
+
+        // the producer hands out one shared factory per type, by name or by enum
+        System.out.println(FactoryProducer.getFactory("shape") == FactoryProducer.getFactory(FactoryType.SHAPE));
     }
 }
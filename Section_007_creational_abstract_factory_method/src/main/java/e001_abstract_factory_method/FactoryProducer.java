@@ -1,15 +1,53 @@
 package e001_abstract_factory_method;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Hands out one shared factory per type instead of a new one on every call.
+ * The factories are created once, when the class is loaded, and looked up in
+ * immutable maps, so getFactory is safe to call from any thread without locking.
+ * Hit and miss counts are published through JMX (see FactoryProducerMXBean).
+ */
 public class FactoryProducer {
-    public static AbstractFactory getFactory(String choice){
-        if(choice.equalsIgnoreCase("SHAPE")){
-            return new ShapeFactory();
-        }
+    private static final Map<FactoryType, AbstractFactory> BY_TYPE;
+    private static final Map<String, AbstractFactory> BY_CHOICE;
+    private static final FactoryProducerStats STATS;
 
-        if(choice.equalsIgnoreCase("COLOR")){
-            return new ColorFactory();
+    static {
+        Map<FactoryType, AbstractFactory> byType = new EnumMap<>(FactoryType.class);
+        byType.put(FactoryType.SHAPE, new ShapeFactory());
+        byType.put(FactoryType.COLOR, new ColorFactory());
+
+        // the choice is matched ignoring case, like equalsIgnoreCase did
+        Map<String, AbstractFactory> byChoice = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Map.Entry<FactoryType, AbstractFactory> entry : byType.entrySet()) {
+            byChoice.put(entry.getKey().name(), entry.getValue());
         }
 
-        return null;
+        BY_TYPE = Collections.unmodifiableMap(byType);
+        BY_CHOICE = Collections.unmodifiableMap(byChoice);
+        STATS = new FactoryProducerStats("e001_abstract_factory_method", byType.size()).register();
+    }
+
+    public static AbstractFactory getFactory(String choice){
+        AbstractFactory factory = choice == null ? null : BY_CHOICE.get(choice);
+        return count(factory);
+    }
+
+    // fast path: no string matching at all
+    public static AbstractFactory getFactory(FactoryType type){
+        return count(BY_TYPE.get(type));
+    }
+
+    private static AbstractFactory count(AbstractFactory factory) {
+        if (factory == null) {
+            STATS.miss();
+        } else {
+            STATS.hit();
+        }
+        return factory;
     }
 }
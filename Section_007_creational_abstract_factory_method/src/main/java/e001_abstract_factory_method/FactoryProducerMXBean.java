@@ -0,0 +1,13 @@
+package e001_abstract_factory_method;
+
+// what a FactoryProducer exposes through JMX, under <its package>:type=FactoryProducer
+public interface FactoryProducerMXBean {
+    // getFactory calls answered with a cached factory
+    long getHitCount();
+
+    // getFactory calls for a choice that has no factory
+    long getMissCount();
+
+    // the number of factory instances ever created - it stays the same however often getFactory is called
+    int getCachedFactoryCount();
+}
@@ -0,0 +1,58 @@
+package e001_abstract_factory_method;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The hit and miss counters of a FactoryProducer. Both producers in this section use
+ * it, each registered under its own package name.
+ */
+public class FactoryProducerStats implements FactoryProducerMXBean {
+    private final String domain;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final int cachedFactoryCount;
+
+    public FactoryProducerStats(String domain, int cachedFactoryCount) {
+        this.domain = domain;
+        this.cachedFactoryCount = cachedFactoryCount;
+    }
+
+    public void hit() {
+        hits.increment();
+    }
+
+    public void miss() {
+        misses.increment();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int getCachedFactoryCount() {
+        return cachedFactoryCount;
+    }
+
+    // the counters still work if JMX is not available or the name is already taken
+    public FactoryProducerStats register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(domain + ":type=FactoryProducer");
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (JMException | SecurityException e) {
+            System.err.println(domain + " FactoryProducer statistics are not available through JMX: " + e);
+        }
+        return this;
+    }
+}
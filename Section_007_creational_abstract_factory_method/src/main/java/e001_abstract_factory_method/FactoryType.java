@@ -0,0 +1,7 @@
+package e001_abstract_factory_method;
+
+// the factories FactoryProducer knows about, for callers that do not want to match strings
+public enum FactoryType {
+    SHAPE,
+    COLOR
+}
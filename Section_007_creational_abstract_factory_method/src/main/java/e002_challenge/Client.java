@@ -18,5 +18,12 @@ public class Client {
         System.out.println("\nBollywood movies are: ");
         System.out.println(bAction.getMovieName());
         System.out.println(bComedy.getMovieName());
+
+
+        // batch creation: the type is matched once for all the movies
+        System.out.println("\nA Hollywood action movie marathon: ");
+        for (HollywoodMovie movie : hollyWoodMovieFactory.getHollywoodMovies("action", 3)) {
+            System.out.println(movie.getMovieName());
+        }
     }
 }
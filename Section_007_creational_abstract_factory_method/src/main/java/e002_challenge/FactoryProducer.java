@@ -1,12 +1,55 @@
 package e002_challenge;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import e001_abstract_factory_method.FactoryProducerStats;
+
+/**
+ * Gives every caller the same HollywoodMovieFactory or BollywoodMovieFactory. Both are
+ * built in the static initializer and never change afterwards, so lookups need no lock.
+ * The counters are the ones e001's FactoryProducer keeps, registered in JMX as
+ * e002_challenge:type=FactoryProducer.
+ */
 public class FactoryProducer {
+    private static final Map<MovieFactoryType, MovieFactoryInterface> BY_TYPE;
+    private static final Map<String, MovieFactoryInterface> BY_CHOICE;
+    private static final FactoryProducerStats STATS;
+
+    static {
+        Map<MovieFactoryType, MovieFactoryInterface> byType = new EnumMap<>(MovieFactoryType.class);
+        byType.put(MovieFactoryType.HOLLYWOOD_MOVIE, new HollywoodMovieFactory());
+        byType.put(MovieFactoryType.BOLLYWOOD_MOVIE, new BollywoodMovieFactory());
+
+        // "hollywoodmovie" and "HOLLYWOODMOVIE" find the same factory as getChoice() does
+        Map<String, MovieFactoryInterface> byChoice = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Map.Entry<MovieFactoryType, MovieFactoryInterface> entry : byType.entrySet()) {
+            byChoice.put(entry.getKey().getChoice(), entry.getValue());
+        }
+
+        BY_TYPE = Collections.unmodifiableMap(byType);
+        BY_CHOICE = Collections.unmodifiableMap(byChoice);
+        STATS = new FactoryProducerStats("e002_challenge", byType.size()).register();
+    }
+
     public static MovieFactoryInterface getFactory(String choice) {
-        if (choice.equalsIgnoreCase("HollywoodMovie")) {
-            return new HollywoodMovieFactory();
-        } else if (choice.equalsIgnoreCase("BollywoodMovie")) {
-            return new BollywoodMovieFactory();
+        MovieFactoryInterface factory = choice == null ? null : BY_CHOICE.get(choice);
+        return count(factory);
+    }
+
+    // fast path: no string matching at all
+    public static MovieFactoryInterface getFactory(MovieFactoryType type) {
+        return count(BY_TYPE.get(type));
+    }
+
+    private static MovieFactoryInterface count(MovieFactoryInterface factory) {
+        if (factory == null) {
+            STATS.miss();
+        } else {
+            STATS.hit();
         }
-        return null;
+        return factory;
     }
 }
@@ -1,16 +1,69 @@
 package e002_challenge;
 
+import java.util.Arrays;
+import java.util.function.Supplier;
+
 public interface MovieFactoryInterface {
     HollywoodMovie getHollywoodMovie(String type);
     BollywoodMovie getBollywoodMovie(String type);
+
+    // resolve a type once, for creating many movies of it.
+    // Factories override these to skip the type matching on every movie
+    default Supplier<? extends HollywoodMovie> hollywoodMovieSupplier(String type) {
+        return () -> getHollywoodMovie(type);
+    }
+
+    default Supplier<? extends BollywoodMovie> bollywoodMovieSupplier(String type) {
+        return () -> getBollywoodMovie(type);
+    }
+
+    // batch creation: the type is resolved once, then every slot is filled
+    default HollywoodMovie[] getHollywoodMovies(String type, int n) {
+        HollywoodMovie[] movies = new HollywoodMovie[n];
+        fill(movies, type);
+        return movies;
+    }
+
+    default BollywoodMovie[] getBollywoodMovies(String type, int n) {
+        BollywoodMovie[] movies = new BollywoodMovie[n];
+        fill(movies, type);
+        return movies;
+    }
+
+    default void fill(HollywoodMovie[] dest, String type) {
+        Supplier<? extends HollywoodMovie> supplier = hollywoodMovieSupplier(type);
+        if (supplier == null) {
+            Arrays.fill(dest, null);
+            return;
+        }
+        for (int i = 0; i < dest.length; i++) {
+            dest[i] = supplier.get();
+        }
+    }
+
+    default void fill(BollywoodMovie[] dest, String type) {
+        Supplier<? extends BollywoodMovie> supplier = bollywoodMovieSupplier(type);
+        if (supplier == null) {
+            Arrays.fill(dest, null);
+            return;
+        }
+        for (int i = 0; i < dest.length; i++) {
+            dest[i] = supplier.get();
+        }
+    }
 }
 
 class HollywoodMovieFactory implements MovieFactoryInterface{
     public HollywoodMovie getHollywoodMovie(String type) {
+        Supplier<? extends HollywoodMovie> supplier = hollywoodMovieSupplier(type);
+        return supplier == null ? null : supplier.get();
+    }
+
+    public Supplier<? extends HollywoodMovie> hollywoodMovieSupplier(String type) {
         if(type.equalsIgnoreCase("action")){
-            return new HollywoodActionMovie();
+            return HollywoodActionMovie::new;
         } else if (type.equalsIgnoreCase("comedy")){
-            return new HollywoodComedyMovie();
+            return HollywoodComedyMovie::new;
         }
         return null;
     }
@@ -18,14 +71,23 @@ class HollywoodMovieFactory implements MovieFactoryInterface{
     public BollywoodMovie getBollywoodMovie(String type) {
         return null;
     }
+
+    public Supplier<? extends BollywoodMovie> bollywoodMovieSupplier(String type) {
+        return null;
+    }
 }
 
 class BollywoodMovieFactory implements MovieFactoryInterface{
     public BollywoodMovie getBollywoodMovie(String type) {
+        Supplier<? extends BollywoodMovie> supplier = bollywoodMovieSupplier(type);
+        return supplier == null ? null : supplier.get();
+    }
+
+    public Supplier<? extends BollywoodMovie> bollywoodMovieSupplier(String type) {
         if(type.equalsIgnoreCase("action")){
-            return new BollywoodActionMovie();
+            return BollywoodActionMovie::new;
         } else if (type.equalsIgnoreCase("comedy")){
-            return new BollywoodComedyMovie();
+            return BollywoodComedyMovie::new;
         }
         return null;
     }
@@ -33,4 +95,8 @@ class BollywoodMovieFactory implements MovieFactoryInterface{
     public HollywoodMovie getHollywoodMovie(String type) {
         return null;
     }
+
+    public Supplier<? extends HollywoodMovie> hollywoodMovieSupplier(String type) {
+        return null;
+    }
 }
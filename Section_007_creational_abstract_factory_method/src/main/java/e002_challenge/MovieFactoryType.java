@@ -0,0 +1,18 @@
+package e002_challenge;
+
+// the factories FactoryProducer knows about, for callers that do not want to match strings
+public enum MovieFactoryType {
+    HOLLYWOOD_MOVIE("HollywoodMovie"),
+    BOLLYWOOD_MOVIE("BollywoodMovie");
+
+    private final String choice;
+
+    MovieFactoryType(String choice) {
+        this.choice = choice;
+    }
+
+    // the name accepted by FactoryProducer.getFactory(String)
+    public String getChoice() {
+        return choice;
+    }
+}
@@ -0,0 +1,42 @@
+package benchmark;
+
+import java.io.File;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the getInstance() benchmark with 1, 4, 16 and 64 threads and the
+ * startup benchmark once, writing one JSON result file per run.
+ *
+ * Usage: java -cp target/benchmarks.jar benchmark.BenchmarkRunner [outputDir]
+ */
+public class BenchmarkRunner {
+
+    private static final int[] THREAD_COUNTS = {1, 4, 16, 64};
+
+    public static void main(String[] args) throws RunnerException {
+        File outputDir = new File(args.length > 0 ? args[0] : "target/jmh-results");
+        outputDir.mkdirs();
+
+        for (int threads : THREAD_COUNTS) {
+            Options opt = new OptionsBuilder()
+                    .include(GetInstanceBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(outputDir, "getInstance-" + threads + "-threads.json").getPath())
+                    .build();
+            new Runner(opt).run();
+        }
+
+        Options startup = new OptionsBuilder()
+                .include(StartupBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result(new File(outputDir, "startup.json").getPath())
+                .build();
+        new Runner(startup).run();
+    }
+}
@@ -0,0 +1,57 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Steady state cost of getInstance() for every singleton variant in the section.
+ * The thread count is set by BenchmarkRunner (1, 4, 16 and 64 threads),
+ * so every variant is measured under the same contention.
+ *
+ * Note that the e001 lazy variant is not thread-safe - it is measured here
+ * only to show what the unsynchronized read path costs.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GetInstanceBenchmark {
+
+    @Benchmark
+    public Object e001_lazy() {
+        return e001_singleton_lazy_initialization.Singleton.getInstance();
+    }
+
+    @Benchmark
+    public Object e002_synchronized() {
+        return e002_singleton_synchronized.Singleton.getInstance();
+    }
+
+    @Benchmark
+    public Object e003_doubleCheckedLocking() {
+        return e003_singleton_double_checked_locking_principle.Singleton.getInstance();
+    }
+
+    @Benchmark
+    public Object e004_eager() {
+        return e004_singleton_eager_evaliation.Singleton.getInsntance();
+    }
+
+    @Benchmark
+    public Object e005_billPugh() {
+        return e005_singleton_bill_pugh.Singleton.getInstance();
+    }
+
+    @Benchmark
+    public Object e006_makeACaptain() {
+        return e006_singleton_challenge.MakeACaptain.getInstance();
+    }
+}
@@ -0,0 +1,54 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the very first getInstance() call in a fresh JVM.
+ * Every measurement runs in its own fork, so it includes loading and
+ * initializing the singleton class (and the holder class for Bill Pugh).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(30)
+public class StartupBenchmark {
+
+    @Benchmark
+    public Object e001_lazy() {
+        return e001_singleton_lazy_initialization.Singleton.getInstance();
+    }
+
+    @Benchmark
+    public Object e002_synchronized() {
+        return e002_singleton_synchronized.Singleton.getInstance();
+    }
+
+    @Benchmark
+    public Object e003_doubleCheckedLocking() {
+        return e003_singleton_double_checked_locking_principle.Singleton.getInstance();
+    }
+
+    @Benchmark
+    public Object e004_eager() {
+        return e004_singleton_eager_evaliation.Singleton.getInsntance();
+    }
+
+    @Benchmark
+    public Object e005_billPugh() {
+        return e005_singleton_bill_pugh.Singleton.getInstance();
+    }
+
+    @Benchmark
+    public Object e006_makeACaptain() {
+        return e006_singleton_challenge.MakeACaptain.getInstance();
+    }
+}
@@ -0,0 +1,67 @@
+package e007_singleton_registry;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * A generic, thread-safe home for lazily created singletons.
+ *
+ * Each key gets its own Holder, which is the double checked locking idea from e003
+ * applied per key instead of per class:
+ *  - once an instance exists, getInstance() is a map read plus a volatile read, no locks
+ *  - the first callers for a key only lock that key's Holder, never the whole registry
+ *  - the initializer of a key runs exactly once, however many threads ask at the same time
+ *
+ * The initializer is not run inside ConcurrentHashMap.computeIfAbsent, so it is free to
+ * look up other singletons from the same registry.
+ * If an initializer throws, nothing is stored and the next caller tries again.
+ */
+public final class SingletonRegistry {
+
+    private final ConcurrentMap<Object, Holder<?>> holders = new ConcurrentHashMap<>();
+
+    public <T> T getInstance(Class<T> type, Supplier<? extends T> initializer) {
+        return type.cast(getInstance((Object) type, initializer));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T getInstance(Object key, Supplier<? extends T> initializer) {
+        Holder<?> holder = holders.get(key);
+        if (holder == null) {
+            // creating a Holder is cheap, so a lost race here only costs an allocation
+            holder = holders.computeIfAbsent(key, k -> new Holder<>());
+        }
+        return ((Holder<T>) holder).get(initializer);
+    }
+
+    public boolean isInitialized(Object key) {
+        Holder<?> holder = holders.get(key);
+        return holder != null && holder.instance != null;
+    }
+
+    public int size() {
+        return holders.size();
+    }
+
+    private static final class Holder<T> {
+        private volatile T instance;
+
+        T get(Supplier<? extends T> initializer) {
+            T result = instance;
+            if (result == null) {
+                synchronized (this) {
+                    result = instance;
+                    if (result == null) {
+                        result = initializer.get();
+                        if (result == null) {
+                            throw new IllegalStateException("singleton initializer returned null");
+                        }
+                        instance = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package e007_singleton_registry;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A small jcstress style harness: every round releases 1000 threads at the same
+ * moment against a fresh singleton and records how many distinct instances they saw.
+ * Exactly one instance is the only acceptable outcome.
+ *
+ * The e001/e002/e003 classes are reloaded in a new class loader for every round,
+ * so each round races on a singleton that has not been created yet.
+ *
+ * Usage: StressTest [rounds] [threads]
+ */
+public class StressTest {
+
+    interface Subject {
+        Object getInstance() throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+
+        run("e001 lazy initialization", e001_singleton_lazy_initialization.Singleton.class, rounds, threads);
+        run("e002 synchronized", e002_singleton_synchronized.Singleton.class, rounds, threads);
+        run("e003 double checked locking", e003_singleton_double_checked_locking_principle.Singleton.class, rounds, threads);
+        runRegistry(rounds, threads);
+    }
+
+    private static void run(String name, Class<?> singletonClass, int rounds, int threads) throws Exception {
+        URL classes = singletonClass.getProtectionDomain().getCodeSource().getLocation();
+        int failedRounds = 0;
+        int worst = 1;
+
+        for (int round = 0; round < rounds; round++) {
+            // a parent-less loader gives us a brand new, uninitialized copy of the class
+            try (URLClassLoader loader = new URLClassLoader(new URL[]{classes}, null)) {
+                Method getInstance = loader.loadClass(singletonClass.getName()).getMethod("getInstance");
+                int instances = race(() -> getInstance.invoke(null), threads);
+                if (instances != 1) {
+                    failedRounds++;
+                    worst = Math.max(worst, instances);
+                }
+            }
+        }
+        report(name, rounds, failedRounds, worst, -1);
+    }
+
+    private static void runRegistry(int rounds, int threads) throws Exception {
+        int failedRounds = 0;
+        int worst = 1;
+        int maxInitializations = 0;
+
+        for (int round = 0; round < rounds; round++) {
+            SingletonRegistry registry = new SingletonRegistry();
+            AtomicInteger initializations = new AtomicInteger();
+            int instances = race(() -> registry.getInstance(StressTest.class, () -> {
+                initializations.incrementAndGet();
+                return new StressTest();
+            }), threads);
+            if (instances != 1 || initializations.get() != 1) {
+                failedRounds++;
+                worst = Math.max(worst, instances);
+            }
+            maxInitializations = Math.max(maxInitializations, initializations.get());
+        }
+        report("e007 SingletonRegistry", rounds, failedRounds, worst, maxInitializations);
+    }
+
+    // starts all threads, lets them go at once and returns the number of distinct instances seen
+    private static int race(Subject subject, int threads) throws InterruptedException {
+        Set<Object> seen = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(() -> {
+                ready.countDown();
+                try {
+                    go.await();
+                    seen.add(subject.getInstance());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            workers[i].start();
+        }
+
+        ready.await();
+        go.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return seen.size();
+    }
+
+    private static void report(String name, int rounds, int failedRounds, int worst, int maxInitializations) {
+        System.out.println(name + ": " + (rounds - failedRounds) + "/" + rounds + " rounds saw exactly one instance"
+                + (failedRounds > 0 ? " (FORBIDDEN outcome seen, up to " + worst + " instances)" : "")
+                + (maxInitializations >= 0 ? ", max initializer runs per round: " + maxInitializations : ""));
+    }
+}
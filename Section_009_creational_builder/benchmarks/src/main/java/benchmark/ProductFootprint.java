@@ -0,0 +1,44 @@
+package benchmark;
+
+import java.util.function.IntFunction;
+
+import e001_builder.LinkedListProductBenchmark;
+import e003_immutable_builder.ImmutableProductBenchmark;
+
+/**
+ * Retained heap per product: builds a large fleet of cars with each builder,
+ * keeps it reachable and compares the used heap after a full GC.
+ * Run it with a fixed heap for stable numbers, e.g. -Xms2g -Xmx2g.
+ *
+ * Usage: java -cp target/benchmarks.jar benchmark.ProductFootprint [products]
+ */
+public class ProductFootprint {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        report("LinkedList Product (e001)", n, LinkedListProductBenchmark::buildFleet);
+        report("immutable Product (e003)", n, ImmutableProductBenchmark::buildFleet);
+    }
+
+    private static void report(String name, int n, IntFunction<Object[]> fleet) {
+        long before = usedHeap();
+        Object[] products = fleet.apply(n);
+        long after = usedHeap();
+
+        // the fleet array itself is not part of a product
+        long arrayBytes = 16L + 4L * n;
+        System.out.printf("%-28s %,8.1f bytes per product%n", name, (after - before - arrayBytes) / (double) n);
+        if (products.length != n) {
+            throw new IllegalStateException();
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
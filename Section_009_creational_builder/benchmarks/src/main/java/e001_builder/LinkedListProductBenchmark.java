@@ -0,0 +1,66 @@
+package e001_builder;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Build cost of the original LinkedList backed products.
+ * Compare with e003_immutable_builder.ImmutableProductBenchmark,
+ * and run with -prof gc for the bytes allocated per product.
+ *
+ * This class lives in the builder's package because Car and MotoCycle are package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class LinkedListProductBenchmark {
+
+    static final int FLEET = 10_000;
+
+    private final Director director = new Director();
+
+    // a Car builder holds a single product, so every product needs a new builder
+    @Benchmark
+    public Product car() {
+        BuilderInterface builder = new Car();
+        director.construct(builder);
+        return builder.getVehicle();
+    }
+
+    @Benchmark
+    public Product motoCycle() {
+        BuilderInterface builder = new MotoCycle();
+        director.construct(builder);
+        return builder.getVehicle();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FLEET)
+    public Product[] carFleet() {
+        return buildFleet(FLEET);
+    }
+
+    public static Product[] buildFleet(int n) {
+        Director director = new Director();
+        Product[] products = new Product[n];
+        for (int i = 0; i < n; i++) {
+            BuilderInterface builder = new Car();
+            director.construct(builder);
+            products[i] = builder.getVehicle();
+        }
+        return products;
+    }
+}
@@ -0,0 +1,81 @@
+package e002_challenge;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pricing many meals built through MealBuilder/Director, one Meal.getCost() at a time,
+ * against the same meals stored in a MealBatch.
+ *
+ * This class lives in the meal's package because the burgers, drinks and builders are package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MealPricingBenchmark {
+
+    @Param({"1000", "1000000"})
+    int meals;
+
+    private Meal[] orders;
+    private MealBatch batch;
+
+    @Setup
+    public void setUp() {
+        Director director = new Director();
+        orders = new Meal[meals];
+        batch = new MealBatch();
+        for (int i = 0; i < meals; i++) {
+            // vary the prices so nothing can be folded away
+            double cents = (i % 100) / 100.0;
+            MealBuilder builder = i % 2 == 0
+                    ? new VegMealBuilder(new VegBurger("Soya Burger", 3.40 + cents), new Pepsi("Pepsi", 0.45))
+                    : new NonVegMealBuilder(new ChickenBurger("Spicy Chicken Burger", 4.50 + cents), new Coke("Coke", 0.50));
+            director.construct(builder);
+            orders[i] = builder.getMeal();
+            batch.addMeal(orders[i]);
+        }
+    }
+
+    @Benchmark
+    public double mealTotalCost() {
+        double total = 0;
+        for (Meal meal : orders) {
+            total += meal.getCost();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double batchTotalCost() {
+        return batch.totalCost();
+    }
+
+    @Benchmark
+    public double[] mealCosts() {
+        double[] costs = new double[orders.length];
+        for (int i = 0; i < orders.length; i++) {
+            costs[i] = orders[i].getCost();
+        }
+        return costs;
+    }
+
+    @Benchmark
+    public double[] batchCosts() {
+        return batch.costs(0, meals);
+    }
+}
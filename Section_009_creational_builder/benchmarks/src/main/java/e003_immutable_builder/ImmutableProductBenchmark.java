@@ -0,0 +1,56 @@
+package e003_immutable_builder;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Build cost of the sealed, array backed products, with one reused builder.
+ * Compare with e001_builder.LinkedListProductBenchmark,
+ * and run with -prof gc for the bytes allocated per product.
+ *
+ * This class lives in the builder's package because Car and MotoCycle are package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ImmutableProductBenchmark {
+
+    static final int FLEET = 10_000;
+
+    private final Director director = new Director();
+    private final BuilderInterface carBuilder = new Car();
+    private final BuilderInterface motoCycleBuilder = new MotoCycle();
+
+    @Benchmark
+    public Product car() {
+        return director.construct(carBuilder);
+    }
+
+    @Benchmark
+    public Product motoCycle() {
+        return director.construct(motoCycleBuilder);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FLEET)
+    public Product[] carFleet() {
+        return director.construct(carBuilder, FLEET);
+    }
+
+    public static Product[] buildFleet(int n) {
+        return new Director().construct(new Car(), n);
+    }
+}
@@ -27,5 +27,13 @@ public class Client {
         System.out.println("Non Veg Meal");
         nonVegMeal.showItem();
         System.out.println("Total Cost: " + nonVegMeal.getCost());
+
+
+        // pricing many meals at once
+        MealBatch orders = new MealBatch();
+        for (int i = 0; i < 1000; i++) {
+            orders.addMeal(i % 2 == 0 ? vegMeal : nonVegMeal);
+        }
+        System.out.println("\n" + orders.getMealCount() + " meals, Total Cost: " + orders.totalCost());
     }
 }
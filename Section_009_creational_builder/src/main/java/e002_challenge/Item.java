@@ -9,14 +9,14 @@ public interface Item {
 abstract class Burger implements Item{
     @Override
     public Packing getPacking() {
-        return new Wrapper();
+        return Packing.WRAPPER;
     }
 }
 
 abstract class ColdDrink implements Item{
      @Override
     public Packing getPacking() {
-        return new Bottle();
+        return Packing.BOTTLE;
     }
 }
 
@@ -0,0 +1,110 @@
+package e002_challenge;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Many meals stored column by column, for pricing them in bulk.
+ *
+ * Where a Meal keeps a List of Items and asks every Item for its price,
+ * a MealBatch copies the prices into one double[] as meals are added,
+ * with the end index of every meal in an int[]. Packings are kept as
+ * references to the shared Packing flyweights.
+ * Pricing then is a plain loop over a primitive array - no interface calls
+ * and no allocation.
+ */
+public class MealBatch {
+    // below this many meals costs() is not worth splitting across threads
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    private double[] prices = new double[16];
+    private Packing[] packings = new Packing[16];
+    private int items;
+
+    private int[] mealEnds = new int[8];
+    private int meals;
+
+    public void addMeal(Meal meal) {
+        for (Item item : meal.myMeal) {
+            addItem(item.getPrice(), item.getPacking());
+        }
+        endMeal();
+    }
+
+    // adds an item to the meal being built, finish the meal with endMeal()
+    public void addItem(double price, Packing packing) {
+        if (items == prices.length) {
+            prices = Arrays.copyOf(prices, items * 2);
+            packings = Arrays.copyOf(packings, items * 2);
+        }
+        prices[items] = price;
+        packings[items] = packing;
+        items++;
+    }
+
+    public void endMeal() {
+        if (meals == mealEnds.length) {
+            mealEnds = Arrays.copyOf(mealEnds, meals * 2);
+        }
+        mealEnds[meals++] = items;
+    }
+
+    public int getMealCount() {
+        return meals;
+    }
+
+    public int getItemCount() {
+        return items;
+    }
+
+    public Packing getPacking(int item) {
+        return packings[item];
+    }
+
+    // the cost of every meal in the batch together
+    public double totalCost() {
+        // items of a meal that has not been ended yet are not counted
+        return sum(0, mealStart(meals));
+    }
+
+    public double getCost(int meal) {
+        if (meal < 0 || meal >= meals) {
+            throw new IndexOutOfBoundsException("meal: " + meal + ", meals: " + meals);
+        }
+        return sum(mealStart(meal), mealEnds[meal]);
+    }
+
+    // the cost of meals [from, to), split across the common pool for big ranges
+    public double[] costs(int from, int to) {
+        if (from < 0 || to > meals || from > to) {
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", meals: " + meals);
+        }
+        double[] costs = new double[to - from];
+        IntStream range = IntStream.range(from, to);
+        if (costs.length >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
+        }
+        range.forEach(meal -> costs[meal - from] = getCost(meal));
+        return costs;
+    }
+
+    private int mealStart(int meal) {
+        return meal == 0 ? 0 : mealEnds[meal - 1];
+    }
+
+    // four independent running sums so the adds do not wait on each other
+    private double sum(int from, int to) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = from;
+        for (; i + 3 < to; i += 4) {
+            s0 += prices[i];
+            s1 += prices[i + 1];
+            s2 += prices[i + 2];
+            s3 += prices[i + 3];
+        }
+        for (; i < to; i++) {
+            s0 += prices[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+}
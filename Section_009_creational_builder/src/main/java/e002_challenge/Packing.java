@@ -1,6 +1,10 @@
 package e002_challenge;
 
 public interface Packing {
+    // packings carry no state, so everyone can share these flyweights
+    Packing WRAPPER = new Wrapper();
+    Packing BOTTLE = new Bottle();
+
     String pack();
 }
 
@@ -0,0 +1,68 @@
+package e003_immutable_builder;
+
+import java.util.Arrays;
+
+public interface BuilderInterface {
+    void buildBody();
+    void insertWheels();
+    void addHeadlights();
+
+    // seals the parts added so far into an immutable Product and
+    // starts over, so one builder can make any number of products
+    Product getVehicle();
+}
+
+// collects the parts in a growable array that is reused from one product to the next
+abstract class PartsBuilder implements BuilderInterface {
+    private String[] parts = new String[4];
+    private int count;
+
+    protected void add(String part) {
+        if (count == parts.length) {
+            parts = Arrays.copyOf(parts, count * 2);
+        }
+        parts[count++] = part;
+    }
+
+    @Override
+    public Product getVehicle() {
+        Product product = new Product(Arrays.copyOf(parts, count));
+        Arrays.fill(parts, 0, count, null);
+        count = 0;
+        return product;
+    }
+}
+
+class Car extends PartsBuilder {
+    @Override
+    public void buildBody() {
+        add("This is a body of a car");
+    }
+
+    @Override
+    public void insertWheels() {
+        add("4 wheels are added");
+    }
+
+    @Override
+    public void addHeadlights() {
+        add("2 headlights are added");
+    }
+}
+
+class MotoCycle extends PartsBuilder {
+    @Override
+    public void buildBody() {
+        add("This is a body of a motocycle");
+    }
+
+    @Override
+    public void insertWheels() {
+        add("2 wheels are added");
+    }
+
+    @Override
+    public void addHeadlights() {
+        add("1 headlights are added");
+    }
+}
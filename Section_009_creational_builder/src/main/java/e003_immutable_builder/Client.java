@@ -0,0 +1,24 @@
+package e003_immutable_builder;
+
+public class Client {
+    public static void main(String[] args) {
+        System.out.println("***Builder Pattern - immutable products***\n");
+
+        Director director = new Director();
+
+        BuilderInterface carBuilder = new Car();
+        BuilderInterface motorBuilder = new MotoCycle();
+
+        // making a car
+        Product p1 = director.construct(carBuilder);
+        p1.show();
+
+        // making a motocycle
+        Product p2 = director.construct(motorBuilder);
+        p2.show();
+
+        // making a fleet of cars with the same builder
+        Product[] fleet = director.construct(carBuilder, 1000);
+        System.out.println("\nBuilt " + fleet.length + " cars, the last one has " + fleet[999].size() + " parts");
+    }
+}
@@ -0,0 +1,23 @@
+package e003_immutable_builder;
+
+public class Director {
+
+    public Product construct(BuilderInterface builder){
+        builder.buildBody();
+        builder.insertWheels();
+        builder.addHeadlights();
+        return builder.getVehicle();
+    }
+
+    // builds n products with the same builder, reusing its parts array every time
+    public Product[] construct(BuilderInterface builder, int n){
+        Product[] products = new Product[n];
+        for (int i = 0; i < n; i++) {
+            builder.buildBody();
+            builder.insertWheels();
+            builder.addHeadlights();
+            products[i] = builder.getVehicle();
+        }
+        return products;
+    }
+}
@@ -0,0 +1,33 @@
+package e003_immutable_builder;
+
+/**
+ * An immutable, compact version of the e001 Product.
+ * Instead of a LinkedList node per part, the parts are sealed into one
+ * right-sized String[]: two objects per product however many parts it has,
+ * and walking the parts reads one array front to back.
+ *
+ * The part Strings themselves are shared, not copied - every car built
+ * from the same builder points at the same part texts.
+ */
+public final class Product {
+    private final String[] parts;
+
+    Product(String[] parts) {
+        this.parts = parts;
+    }
+
+    public int size() {
+        return parts.length;
+    }
+
+    public String get(int index) {
+        return parts[index];
+    }
+
+    public void show(){
+        System.out.println("\nProduct completed as below");
+        for(String s : parts){
+            System.out.println(s);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package benchmark;
+
+import java.io.File;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the prototype cache benchmarks with 1, 4, 16 and 64 threads,
+ * writing one JSON result file per thread count.
+ * The hotReload group always runs with its own 3 readers and 1 writer.
+ *
+ * Usage: java -cp target/benchmarks.jar benchmark.BenchmarkRunner [outputDir]
+ */
+public class BenchmarkRunner {
+
+    private static final int[] THREAD_COUNTS = {1, 4, 16, 64};
+
+    public static void main(String[] args) throws RunnerException {
+        File outputDir = new File(args.length > 0 ? args[0] : "target/jmh-results");
+        outputDir.mkdirs();
+
+        for (int threads : THREAD_COUNTS) {
+            Options opt = new OptionsBuilder()
+                    .include("PrototypeCacheBenchmark\\.(hashtable|shapeCache|basicCarCache)")
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(outputDir, "prototypeCache-" + threads + "-threads.json").getPath())
+                    .build();
+            new Runner(opt).run();
+        }
+
+        Options hotReload = new OptionsBuilder()
+                .include("PrototypeCacheBenchmark\\.hotReload")
+                .resultFormat(ResultFormatType.JSON)
+                .result(new File(outputDir, "prototypeCache-hotReload.json").getPath())
+                .build();
+        new Runner(hotReload).run();
+    }
+}
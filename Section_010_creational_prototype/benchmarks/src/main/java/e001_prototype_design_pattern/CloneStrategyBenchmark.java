@@ -0,0 +1,69 @@
+package e001_prototype_design_pattern;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import e003_clone_strategy.CloneStrategy;
+import e003_clone_strategy.DeepCopyStrategy;
+import e003_clone_strategy.FieldCopyStrategy;
+
+/**
+ * Latency of each CloneStrategy on shapes with 10 and 100 extra fields.
+ * Run with -prof gc for the bytes allocated per copy.
+ * e002_challenge.CloneStrategyBenchmark does the same for BasicCars.
+ *
+ * This class lives in the shape's package because Shape.clone() is protected.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CloneStrategyBenchmark {
+
+    @Param({"10", "100"})
+    int fields;
+
+    private Shape prototype;
+    private CloneStrategy<Shape> shallow;
+    private CloneStrategy<Shape> fieldCopy;
+    private CloneStrategy<Shape> deepCopy;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Class<? extends Shape> type = fields == 10 ? Shape10.class : Shape100.class;
+        prototype = fields == 10 ? new Shape10() : new Shape100();
+        prototype.setId("1");
+        shallow = shape -> (Shape) shape.clone();
+        fieldCopy = (CloneStrategy<Shape>) new FieldCopyStrategy<>(type);
+        deepCopy = (CloneStrategy<Shape>) new DeepCopyStrategy<>(type);
+    }
+
+    @Benchmark
+    public Shape shallowClone() {
+        return shallow.copy(prototype);
+    }
+
+    @Benchmark
+    public Shape fieldCopy() {
+        return fieldCopy.copy(prototype);
+    }
+
+    @Benchmark
+    public Shape deepCopy() {
+        return deepCopy.copy(prototype);
+    }
+}
@@ -0,0 +1,71 @@
+package e001_prototype_design_pattern;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import e003_clone_strategy.CloneStrategy;
+import e003_clone_strategy.CopyOnWriteStats;
+import e003_clone_strategy.DeepCopyStrategy;
+
+/**
+ * Cloning a prototype with a 1 KB payload: an eager deep copy on every clone,
+ * against copy-on-write clones that are only read, and ones that are written to
+ * (which then pay for the deep copy themselves).
+ * Run with -prof gc for the bytes allocated per clone; the copy-on-write counts
+ * are printed after every iteration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CopyOnWriteBenchmark {
+
+    private final Shape prototype = new PayloadShape();
+    private final CloneStrategy<PayloadShape> deepCopy = new DeepCopyStrategy<>(PayloadShape.class);
+    private CopyOnWriteStats stats;
+    private CloneStrategy<Shape> copyOnWrite;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        prototype.setId("1");
+        stats = new CopyOnWriteStats();
+        copyOnWrite = CopyOnWriteShape.strategy(shape -> deepCopy.copy((PayloadShape) shape), stats);
+    }
+
+    @TearDown(Level.Iteration)
+    public void printStats() {
+        System.out.println("copy-on-write clones " + stats);
+    }
+
+    @Benchmark
+    public Shape eagerDeepCopy() {
+        return deepCopy.copy((PayloadShape) prototype);
+    }
+
+    @Benchmark
+    public String copyOnWriteReadOnly() {
+        Shape clone = copyOnWrite.copy(prototype);
+        return clone.getType();
+    }
+
+    @Benchmark
+    public Shape copyOnWriteWritten() {
+        Shape clone = copyOnWrite.copy(prototype);
+        clone.setId("2");
+        return clone;
+    }
+}
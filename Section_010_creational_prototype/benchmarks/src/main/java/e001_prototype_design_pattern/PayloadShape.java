@@ -0,0 +1,13 @@
+package e001_prototype_design_pattern;
+
+// a shape carrying 1 KB of state, for CopyOnWriteBenchmark
+public class PayloadShape extends Shape {
+    byte[] payload = new byte[1024];
+
+    public PayloadShape() {
+        type = "PayloadShape";
+    }
+
+    void draw() {
+    }
+}
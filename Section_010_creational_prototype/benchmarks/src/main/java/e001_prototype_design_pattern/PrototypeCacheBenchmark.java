@@ -0,0 +1,91 @@
+package e001_prototype_design_pattern;
+
+import java.util.Hashtable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import e002_challenge.BasicCar;
+import e002_challenge.BasicCarCache;
+
+/**
+ * getShape()/getBasicCar() throughput of the copy-on-write caches against the
+ * Hashtable the ShapeCache used to be. BenchmarkRunner repeats this with
+ * 1, 4, 16 and 64 threads to show how each one scales.
+ *
+ * This class lives in the shape's package because Shape.clone() is protected.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PrototypeCacheBenchmark {
+
+    private static final String[] SHAPE_IDS = {"1", "2", "3"};
+
+    // the ShapeCache as it was: every get takes the Hashtable's monitor
+    private final Hashtable<String, Shape> hashtable = new Hashtable<>();
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        String nextId() {
+            String id = SHAPE_IDS[next];
+            next = next + 1 == SHAPE_IDS.length ? 0 : next + 1;
+            return id;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        ShapeCache.loadCache();
+        BasicCarCache.loadCache();
+        for (String id : SHAPE_IDS) {
+            hashtable.put(id, ShapeCache.getShape(id));
+        }
+    }
+
+    @Benchmark
+    public Shape hashtableGetShape(Cursor cursor) {
+        return (Shape) hashtable.get(cursor.nextId()).clone();
+    }
+
+    @Benchmark
+    public Shape shapeCacheGetShape(Cursor cursor) {
+        return ShapeCache.getShape(cursor.nextId());
+    }
+
+    @Benchmark
+    public BasicCar basicCarCacheGetBasicCar() throws CloneNotSupportedException {
+        return BasicCarCache.getBasicCar("Green Nano");
+    }
+
+    // readers keep cloning while another thread reloads all the prototypes in a loop
+    @Benchmark
+    @Group("hotReload")
+    @GroupThreads(3)
+    public Shape hotReloadReader(Cursor cursor) {
+        return ShapeCache.getShape(cursor.nextId());
+    }
+
+    @Benchmark
+    @Group("hotReload")
+    @GroupThreads(1)
+    public void hotReloadWriter() {
+        ShapeCache.loadCache();
+    }
+}
@@ -0,0 +1,22 @@
+package e001_prototype_design_pattern;
+
+// generated for CloneStrategyBenchmark: a shape with 10 extra fields of mixed kinds, every fifth one an array
+public class Shape10 extends Shape {
+    int f0 = 0;
+    long f1 = 1L;
+    double f2 = 2.5;
+    String f3 = "field 3";
+    int[] f4 = {4, 5, 6};
+    int f5 = 5;
+    long f6 = 6L;
+    double f7 = 7.5;
+    String f8 = "field 8";
+    int[] f9 = {9, 10, 11};
+
+    public Shape10() {
+        type = "Shape10";
+    }
+
+    void draw() {
+    }
+}
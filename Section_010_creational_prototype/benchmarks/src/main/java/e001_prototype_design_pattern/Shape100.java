@@ -0,0 +1,112 @@
+package e001_prototype_design_pattern;
+
+// generated for CloneStrategyBenchmark: a shape with 100 extra fields of mixed kinds, every fifth one an array
+public class Shape100 extends Shape {
+    int f0 = 0;
+    long f1 = 1L;
+    double f2 = 2.5;
+    String f3 = "field 3";
+    int[] f4 = {4, 5, 6};
+    int f5 = 5;
+    long f6 = 6L;
+    double f7 = 7.5;
+    String f8 = "field 8";
+    int[] f9 = {9, 10, 11};
+    int f10 = 10;
+    long f11 = 11L;
+    double f12 = 12.5;
+    String f13 = "field 13";
+    int[] f14 = {14, 15, 16};
+    int f15 = 15;
+    long f16 = 16L;
+    double f17 = 17.5;
+    String f18 = "field 18";
+    int[] f19 = {19, 20, 21};
+    int f20 = 20;
+    long f21 = 21L;
+    double f22 = 22.5;
+    String f23 = "field 23";
+    int[] f24 = {24, 25, 26};
+    int f25 = 25;
+    long f26 = 26L;
+    double f27 = 27.5;
+    String f28 = "field 28";
+    int[] f29 = {29, 30, 31};
+    int f30 = 30;
+    long f31 = 31L;
+    double f32 = 32.5;
+    String f33 = "field 33";
+    int[] f34 = {34, 35, 36};
+    int f35 = 35;
+    long f36 = 36L;
+    double f37 = 37.5;
+    String f38 = "field 38";
+    int[] f39 = {39, 40, 41};
+    int f40 = 40;
+    long f41 = 41L;
+    double f42 = 42.5;
+    String f43 = "field 43";
+    int[] f44 = {44, 45, 46};
+    int f45 = 45;
+    long f46 = 46L;
+    double f47 = 47.5;
+    String f48 = "field 48";
+    int[] f49 = {49, 50, 51};
+    int f50 = 50;
+    long f51 = 51L;
+    double f52 = 52.5;
+    String f53 = "field 53";
+    int[] f54 = {54, 55, 56};
+    int f55 = 55;
+    long f56 = 56L;
+    double f57 = 57.5;
+    String f58 = "field 58";
+    int[] f59 = {59, 60, 61};
+    int f60 = 60;
+    long f61 = 61L;
+    double f62 = 62.5;
+    String f63 = "field 63";
+    int[] f64 = {64, 65, 66};
+    int f65 = 65;
+    long f66 = 66L;
+    double f67 = 67.5;
+    String f68 = "field 68";
+    int[] f69 = {69, 70, 71};
+    int f70 = 70;
+    long f71 = 71L;
+    double f72 = 72.5;
+    String f73 = "field 73";
+    int[] f74 = {74, 75, 76};
+    int f75 = 75;
+    long f76 = 76L;
+    double f77 = 77.5;
+    String f78 = "field 78";
+    int[] f79 = {79, 80, 81};
+    int f80 = 80;
+    long f81 = 81L;
+    double f82 = 82.5;
+    String f83 = "field 83";
+    int[] f84 = {84, 85, 86};
+    int f85 = 85;
+    long f86 = 86L;
+    double f87 = 87.5;
+    String f88 = "field 88";
+    int[] f89 = {89, 90, 91};
+    int f90 = 90;
+    long f91 = 91L;
+    double f92 = 92.5;
+    String f93 = "field 93";
+    int[] f94 = {94, 95, 96};
+    int f95 = 95;
+    long f96 = 96L;
+    double f97 = 97.5;
+    String f98 = "field 98";
+    int[] f99 = {99, 100, 101};
+
+    public Shape100() {
+        type = "Shape100";
+    }
+
+    void draw() {
+    }
+}
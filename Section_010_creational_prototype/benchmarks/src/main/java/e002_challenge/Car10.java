@@ -0,0 +1,24 @@
+package e002_challenge;
+
+// generated for CloneStrategyBenchmark: a car with 10 extra fields of mixed kinds, every fifth one an array
+public class Car10 extends BasicCar {
+    int f0 = 0;
+    long f1 = 1L;
+    double f2 = 2.5;
+    String f3 = "field 3";
+    int[] f4 = {4, 5, 6};
+    int f5 = 5;
+    long f6 = 6L;
+    double f7 = 7.5;
+    String f8 = "field 8";
+    int[] f9 = {9, 10, 11};
+
+    public Car10(String m) {
+        this.name = m;
+    }
+
+    @Override
+    protected BasicCar clone() throws CloneNotSupportedException {
+        return (Car10) super.clone();
+    }
+}
@@ -0,0 +1,106 @@
+package e002_challenge;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Clones and prices 10M cars on all cores, in chunks so only one chunk per
+ * thread is alive at a time. Scores are per car.
+ *
+ * newRandomPerCall is what BasicCar.setPrice() used to do: a new java.util.Random
+ * for every car, which also makes every thread update the shared seed uniquifier.
+ *
+ * This class lives in the car's package because BasicCar.price is package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CarPricingBenchmark {
+
+    private static final int CARS = 10_000_000;
+    private static final int CHUNK = 10_000;
+
+    private final PriceEngine random = PriceEngine.random();
+    private final PriceEngine seeded = PriceEngine.seeded(42);
+
+    interface ChunkPricer {
+        void price(BasicCar[] cars, int offset);
+    }
+
+    @Setup
+    public void setUp() {
+        BasicCarCache.loadCache();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CARS)
+    public long newRandomPerCall() {
+        return cloneAndPrice((cars, offset) -> {
+            for (BasicCar car : cars) {
+                car.price += new Random().nextInt(PriceEngine.MAX_MARKUP);
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CARS)
+    public long setPricePerCall() {
+        return cloneAndPrice((cars, offset) -> {
+            for (BasicCar car : cars) {
+                car.price += BasicCar.setPrice();
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CARS)
+    public long engineBulkRandom() {
+        return cloneAndPrice((cars, offset) -> random.price(cars));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CARS)
+    public long engineBulkSeeded() {
+        return cloneAndPrice((cars, offset) -> {
+            for (int i = 0; i < cars.length; i++) {
+                seeded.price(cars[i], offset + i);
+            }
+        });
+    }
+
+    // returns the total of all the prices, so nothing can be optimized away
+    private static long cloneAndPrice(ChunkPricer pricer) {
+        return IntStream.range(0, CARS / CHUNK).parallel().mapToLong(chunk -> {
+            BasicCar[] cars = new BasicCar[CHUNK];
+            try {
+                for (int i = 0; i < CHUNK; i++) {
+                    cars[i] = BasicCarCache.getBasicCar("Green Nano");
+                }
+            } catch (CloneNotSupportedException e) {
+                throw new AssertionError(e);
+            }
+            pricer.price(cars, chunk * CHUNK);
+            long total = 0;
+            for (BasicCar car : cars) {
+                total += car.getPrice();
+            }
+            return total;
+        }).sum();
+    }
+}
@@ -0,0 +1,79 @@
+package e002_challenge;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import e003_clone_strategy.CloneStrategy;
+import e003_clone_strategy.DeepCopyStrategy;
+import e003_clone_strategy.FieldCopyStrategy;
+
+/**
+ * Latency of each CloneStrategy on BasicCars with 10 and 100 extra fields.
+ * Run with -prof gc for the bytes allocated per copy.
+ *
+ * This class lives in the car's package because BasicCar.clone() is protected.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CloneStrategyBenchmark {
+
+    @Param({"10", "100"})
+    int fields;
+
+    private BasicCar prototype;
+    private CloneStrategy<BasicCar> shallow;
+    private CloneStrategy<BasicCar> fieldCopy;
+    private CloneStrategy<BasicCar> deepCopy;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        if (fields == 10) {
+            prototype = new Car10("Green Nano");
+            fieldCopy = (CloneStrategy<BasicCar>) (CloneStrategy<?>) new FieldCopyStrategy<>(Car10.class, () -> new Car10(null));
+            deepCopy = (CloneStrategy<BasicCar>) (CloneStrategy<?>) new DeepCopyStrategy<>(Car10.class, () -> new Car10(null));
+        } else {
+            prototype = new Car100("Green Nano");
+            fieldCopy = (CloneStrategy<BasicCar>) (CloneStrategy<?>) new FieldCopyStrategy<>(Car100.class, () -> new Car100(null));
+            deepCopy = (CloneStrategy<BasicCar>) (CloneStrategy<?>) new DeepCopyStrategy<>(Car100.class, () -> new Car100(null));
+        }
+        prototype.price = 100000;
+        shallow = car -> {
+            try {
+                return car.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new AssertionError(e);
+            }
+        };
+    }
+
+    @Benchmark
+    public BasicCar shallowClone() {
+        return shallow.copy(prototype);
+    }
+
+    @Benchmark
+    public BasicCar fieldCopy() {
+        return fieldCopy.copy(prototype);
+    }
+
+    @Benchmark
+    public BasicCar deepCopy() {
+        return deepCopy.copy(prototype);
+    }
+}
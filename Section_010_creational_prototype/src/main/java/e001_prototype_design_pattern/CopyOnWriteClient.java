@@ -0,0 +1,27 @@
+package e001_prototype_design_pattern;
+
+import e003_clone_strategy.CopyOnWriteStats;
+
+public class CopyOnWriteClient {
+    public static void main(String[] args) {
+        ShapeCache.loadCache();
+
+        // circles are now handed out as copy-on-write clones
+        CopyOnWriteStats stats = new CopyOnWriteStats();
+        ShapeCache.setCloneStrategy(Circle.class, CopyOnWriteShape.strategy(stats));
+
+        // only read from: shares the prototype
+        Shape cloneShape1 = ShapeCache.getShape("1");
+        System.out.println(cloneShape1.getType());
+
+        // written to: copies the prototype first
+        Shape cloneShape2 = ShapeCache.getShape("1");
+        cloneShape2.setId("42");
+        System.out.println(cloneShape2.getType() + " " + cloneShape2.getId());
+
+        // the prototype is untouched
+        System.out.println(ShapeCache.getShape("1").getId());
+
+        System.out.println(stats);
+    }
+}
@@ -0,0 +1,71 @@
+package e001_prototype_design_pattern;
+
+import e003_clone_strategy.CloneStrategy;
+import e003_clone_strategy.CopyOnWrite;
+import e003_clone_strategy.CopyOnWriteStats;
+
+/**
+ * A clone that shares the prototype until setId() or setType() is called,
+ * and only then copies it. Use it through the strategy() of ShapeCache, e.g.
+ *     ShapeCache.setCloneStrategy(Circle.class, CopyOnWriteShape.strategy(stats));
+ *
+ * It stands in for the shape - it draws and answers like it - but it is a
+ * CopyOnWriteShape, not a Circle.
+ */
+public class CopyOnWriteShape extends Shape {
+    private final CopyOnWrite<Shape> state;
+
+    CopyOnWriteShape(Shape prototype, CloneStrategy<Shape> copier, CopyOnWriteStats stats) {
+        this.state = new CopyOnWrite<>(prototype, copier, stats);
+    }
+
+    // materializes with the shape's own clone()
+    public static CloneStrategy<Shape> strategy(CopyOnWriteStats stats) {
+        return strategy(shape -> (Shape) shape.clone(), stats);
+    }
+
+    // materializes with another strategy, e.g. a DeepCopyStrategy for shapes with nested state
+    public static CloneStrategy<Shape> strategy(CloneStrategy<Shape> copier, CopyOnWriteStats stats) {
+        return prototype -> new CopyOnWriteShape(prototype, copier, stats);
+    }
+
+    // the shape behind this clone - the shared prototype until the first write
+    public Shape unwrap() {
+        return state.read();
+    }
+
+    public boolean isMaterialized() {
+        return state.isMaterialized();
+    }
+
+    // cloning a copy-on-write shape gives a plain, independent copy of what it currently shows
+    @Override
+    protected Object clone() {
+        return state.copy();
+    }
+
+    @Override
+    void draw() {
+        state.read().draw();
+    }
+
+    @Override
+    public String getId() {
+        return state.read().getId();
+    }
+
+    @Override
+    public void setId(String id) {
+        state.write().setId(id);
+    }
+
+    @Override
+    public String getType() {
+        return state.read().getType();
+    }
+
+    @Override
+    public void setType(String type) {
+        state.write().setType(type);
+    }
+}
@@ -24,15 +24,12 @@ public abstract class Shape implements Cloneable {
 
     @Override
     protected Object clone() {
-        Object clone = null;
-
         try {
-            clone = super.clone();
+            return super.clone();
         } catch (CloneNotSupportedException e) {
-            e.printStackTrace();
+            // Shape is Cloneable, so this cannot happen
+            throw new AssertionError(e);
         }
-
-        return clone;
     }
 }
 
@@ -1,29 +1,61 @@
 package e001_prototype_design_pattern;
 
-import java.util.Hashtable;
-
+import java.util.HashMap;
+import java.util.Map;
+
+import e003_clone_strategy.CloneStrategy;
+import e003_clone_strategy.PrototypeRegistry;
+
+/**
+ * Prototypes are kept in an immutable map that is replaced as a whole on every change
+ * (copy-on-write). getShape only reads a volatile field and an immutable map, so
+ * cloning threads never lock or wait on each other, and a reload swaps in the new
+ * set of prototypes in one step - readers see either the old set or the new one.
+ *
+ * Shapes are copied with their own clone() unless another CloneStrategy is set for their class.
+ *
+ * A prototype must not be changed once it is in the cache; put a new one instead.
+ */
 public class ShapeCache {
 
-    private static Hashtable<String, Shape> shapeMap = new Hashtable<String, Shape>();
+    private static final PrototypeRegistry<Shape> shapeMap = new PrototypeRegistry<>(shape -> (Shape) shape.clone());
 
     public static Shape getShape(String shapeId){
-        Shape cachedShape = shapeMap.get(shapeId);
-        return (Shape) cachedShape.clone();
+        return shapeMap.get(shapeId);
+    }
+
+    // adds or replaces a single prototype
+    public static void putShape(Shape shape){
+        shapeMap.put(shape.getId(), shape);
+    }
+
+    // replaces every prototype at once
+    public static void reloadCache(Map<String, ? extends Shape> shapes){
+        shapeMap.reload(shapes);
+    }
+
+    // copy the shapes of this class with another strategy
+    public static <S extends Shape> void setCloneStrategy(Class<S> type, CloneStrategy<? super S> strategy){
+        shapeMap.setStrategy(type, strategy);
     }
 
     public static void loadCache(){
+        Map<String, Shape> shapes = new HashMap<>();
+
         Circle circle = new Circle();
         circle.setId("1");
-        shapeMap.put(circle.getId(), circle);
+        shapes.put(circle.getId(), circle);
 
 
         Square square = new Square();
         square.setId("2");
-        shapeMap.put(square.getId(), square);
+        shapes.put(square.getId(), square);
 
 
         Rectangle rectangle  = new Rectangle();
         rectangle.setId("3");
-        shapeMap.put(rectangle.getId(), rectangle);
+        shapes.put(rectangle.getId(), rectangle);
+
+        reloadCache(shapes);
     }
 }
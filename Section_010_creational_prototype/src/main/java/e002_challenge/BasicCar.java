@@ -1,6 +1,6 @@
 package e002_challenge;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 public abstract class BasicCar implements Cloneable {
     String name;
@@ -18,12 +18,10 @@ public abstract class BasicCar implements Cloneable {
         return price;
     }
 
+    // a random markup; ThreadLocalRandom needs no allocation and no shared seed.
+    // See PriceEngine for pricing many cars at once or reproducibly
     public static int setPrice() {
-        int price = 0;
-        Random r = new Random();
-        int p = r.nextInt(1000000);
-        price = p;
-        return price;
+        return ThreadLocalRandom.current().nextInt(PriceEngine.MAX_MARKUP);
     }
 
     @Override
@@ -1,23 +1,63 @@
 package e002_challenge;
 
-import java.util.Hashtable;
+import java.util.HashMap;
+import java.util.Map;
 
+import e003_clone_strategy.CloneStrategy;
+import e003_clone_strategy.PrototypeRegistry;
+
+/**
+ * Prototypes are kept in an immutable map that is replaced as a whole on every change
+ * (copy-on-write), so getBasicCar clones without taking any lock, and a reload
+ * never blocks the threads that are reading.
+ *
+ * Cars are copied with their own clone() unless another CloneStrategy is set for their class.
+ *
+ * A prototype must not be changed once it is in the cache; put a new one instead.
+ */
 public class BasicCarCache {
-    private static Hashtable<String, BasicCar> carMap = new Hashtable<String, BasicCar>();
+    private static final PrototypeRegistry<BasicCar> carMap = new PrototypeRegistry<>(BasicCarCache::cloneCar);
 
     public static BasicCar getBasicCar(String name) throws CloneNotSupportedException{
-        BasicCar cachedBasicCar = carMap.get(name);
-        return (BasicCar) cachedBasicCar.clone();
+        return carMap.get(name);
+    }
+
+    // adds or replaces a single prototype
+    public static void putBasicCar(String name, BasicCar car){
+        carMap.put(name, car);
+    }
+
+    // replaces every prototype at once
+    public static void reloadCache(Map<String, ? extends BasicCar> cars){
+        carMap.reload(cars);
+    }
+
+    // copy the cars of this class with another strategy
+    public static <S extends BasicCar> void setCloneStrategy(Class<S> type, CloneStrategy<? super S> strategy){
+        carMap.setStrategy(type, strategy);
+    }
+
+    static BasicCar cloneCar(BasicCar car) {
+        try {
+            return car.clone();
+        } catch (CloneNotSupportedException e) {
+            // BasicCar is Cloneable, so this cannot happen
+            throw new AssertionError(e);
+        }
     }
 
     public static void loadCache(){
+        Map<String, BasicCar> cars = new HashMap<>();
+
         BasicCar nano = new Nano("Green Nano");
         nano.price = 100000;
-        carMap.put("Green Nano", nano);
+        cars.put("Green Nano", nano);
 
         BasicCar ford = new Ford("Ford Yellow");
         ford.price = 500000;
-        carMap.put("Ford Yellow", ford);
+        cars.put("Ford Yellow", ford);
+
+        reloadCache(cars);
     }
 
 }
@@ -12,6 +12,14 @@ public class Client {
         bc1.price = bc1.price + BasicCar.setPrice();
         System.out.println("Car is: " + bc1.getName() + " and it's price is Rs." + bc1.getPrice());
 
-
+        // pricing a whole showroom in one pass, with a fixed seed the prices are the same on every run
+        BasicCar[] showroom = new BasicCar[3];
+        for (int i = 0; i < showroom.length; i++) {
+            showroom[i] = BasicCarCache.getBasicCar("Green Nano");
+        }
+        PriceEngine.seeded(42).price(showroom);
+        for (BasicCar car : showroom) {
+            System.out.println("Car is: " + car.getName() + " and it's price is Rs." + car.getPrice());
+        }
     }
 }
@@ -0,0 +1,59 @@
+package e002_challenge;
+
+import e003_clone_strategy.CloneStrategy;
+import e003_clone_strategy.CopyOnWrite;
+import e003_clone_strategy.CopyOnWriteStats;
+
+/**
+ * A clone that shares the prototype until setName() is called, and only then copies it.
+ * Use it through the strategy() of BasicCarCache, e.g.
+ *     BasicCarCache.setCloneStrategy(Nano.class, CopyOnWriteCar.strategy(stats));
+ *
+ * The price is a single int that every clone changes straight away, so it is
+ * not shared: each clone starts with its own copy of the prototype's price.
+ */
+public class CopyOnWriteCar extends BasicCar {
+    private final CopyOnWrite<BasicCar> state;
+
+    CopyOnWriteCar(BasicCar prototype, CloneStrategy<BasicCar> copier, CopyOnWriteStats stats) {
+        this.state = new CopyOnWrite<>(prototype, copier, stats);
+        this.price = prototype.price;
+    }
+
+    // materializes with the car's own clone()
+    public static CloneStrategy<BasicCar> strategy(CopyOnWriteStats stats) {
+        return strategy(BasicCarCache::cloneCar, stats);
+    }
+
+    // materializes with another strategy, e.g. a DeepCopyStrategy for cars with nested state
+    public static CloneStrategy<BasicCar> strategy(CloneStrategy<BasicCar> copier, CopyOnWriteStats stats) {
+        return prototype -> new CopyOnWriteCar(prototype, copier, stats);
+    }
+
+    // the car behind this clone - the shared prototype until the first write
+    public BasicCar unwrap() {
+        return state.read();
+    }
+
+    public boolean isMaterialized() {
+        return state.isMaterialized();
+    }
+
+    // cloning a copy-on-write car gives a plain, independent copy of what it currently shows
+    @Override
+    protected BasicCar clone() {
+        BasicCar copy = state.copy();
+        copy.price = price;
+        return copy;
+    }
+
+    @Override
+    public String getName() {
+        return state.read().getName();
+    }
+
+    @Override
+    public void setName(String name) {
+        state.write().setName(name);
+    }
+}
@@ -0,0 +1,74 @@
+package e002_challenge;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Adds a random markup to the price of cloned cars, one car or a whole array at a time.
+ *
+ * PriceEngine.random() draws from ThreadLocalRandom, so threads never share a seed.
+ * PriceEngine.seeded(seed) is for reproducible load tests: the markup of the car at
+ * index i only depends on the seed and i (a SplitMix64 step, the generator behind
+ * SplittableRandom), so a run gives the same prices however the work is split
+ * across threads.
+ */
+public class PriceEngine {
+    static final int MAX_MARKUP = 1000000;
+
+    // below this many cars pricing is not worth splitting across threads
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private final boolean seeded;
+    private final long seed;
+
+    private PriceEngine(boolean seeded, long seed) {
+        this.seeded = seeded;
+        this.seed = seed;
+    }
+
+    public static PriceEngine random() {
+        return new PriceEngine(false, 0);
+    }
+
+    public static PriceEngine seeded(long seed) {
+        return new PriceEngine(true, seed);
+    }
+
+    // the markup for the car at this position of a run, in [0, MAX_MARKUP)
+    public int markup(long index) {
+        if (!seeded) {
+            return ThreadLocalRandom.current().nextInt(MAX_MARKUP);
+        }
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (int) ((z >>> 1) % MAX_MARKUP);
+    }
+
+    public void price(BasicCar car, long index) {
+        car.price += markup(index);
+    }
+
+    // prices every car in one pass
+    public void price(BasicCar[] cars) {
+        price(cars, 0, cars.length);
+    }
+
+    public void price(BasicCar[] cars, int from, int to) {
+        for (int i = from; i < to; i++) {
+            cars[i].price += markup(i);
+        }
+    }
+
+    // like price(cars), split across the common pool for big arrays
+    public void priceParallel(BasicCar[] cars) {
+        int chunks = (cars.length + PARALLEL_THRESHOLD - 1) / PARALLEL_THRESHOLD;
+        if (chunks <= 1) {
+            price(cars);
+            return;
+        }
+        IntStream.range(0, chunks).parallel().forEach(chunk ->
+                price(cars, chunk * PARALLEL_THRESHOLD, Math.min(cars.length, (chunk + 1) * PARALLEL_THRESHOLD)));
+    }
+}
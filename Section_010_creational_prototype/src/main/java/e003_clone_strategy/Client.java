@@ -0,0 +1,29 @@
+package e003_clone_strategy;
+
+public class Client {
+    public static void main(String[] args) {
+        PrototypeRegistry<Sketch> registry = new PrototypeRegistry<>(Sketch::clone);
+
+        Sketch prototype = new Sketch("house");
+        prototype.points.add("0,0");
+        registry.put("house", prototype);
+
+        // shallow clone(): the copy shares the points list and the rgb array with the prototype
+        Sketch shallow = registry.get("house");
+        shallow.points.add("shallow was here");
+        System.out.println("after the shallow copy changed: " + registry.getPrototype("house"));
+
+        // the field copier is shallow too, but built from MethodHandles instead of Object.clone()
+        registry.setStrategy(Sketch.class, new FieldCopyStrategy<>(Sketch.class));
+        Sketch copied = registry.get("house");
+        System.out.println("field copy shares the list: " + (copied.points == prototype.points));
+
+        // deep copy: nothing mutable is shared
+        registry.setStrategy(Sketch.class, new DeepCopyStrategy<>(Sketch.class));
+        Sketch deep = registry.get("house");
+        deep.points.add("deep was here");
+        deep.rgb[0] = 255;
+        System.out.println("after the deep copy changed:    " + registry.getPrototype("house"));
+        System.out.println("the deep copy:                  " + deep);
+    }
+}
@@ -0,0 +1,15 @@
+package e003_clone_strategy;
+
+/**
+ * How a PrototypeRegistry turns a prototype into a new object.
+ *
+ * Three kinds come with the package:
+ *  - shallow: a lambda over the type's own clone(), e.g. {@code s -> (Shape) s.clone()}
+ *  - FieldCopyStrategy: a copy constructor assembled from MethodHandles, field by field
+ *  - DeepCopyStrategy: like FieldCopyStrategy, but arrays, collections and nested
+ *    objects are copied too, so the copy shares no mutable state with the prototype
+ */
+@FunctionalInterface
+public interface CloneStrategy<T> {
+    T copy(T prototype);
+}
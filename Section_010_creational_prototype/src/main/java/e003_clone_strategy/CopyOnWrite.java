@@ -0,0 +1,47 @@
+package e003_clone_strategy;
+
+/**
+ * The state behind a copy-on-write clone. It reads the prototype until the first
+ * write(), which copies the prototype with the given strategy and keeps that copy
+ * from then on. So a clone that is never changed costs no copy at all.
+ *
+ * Like any clone this belongs to one caller and is not thread-safe;
+ * the prototype itself must never be changed.
+ */
+public final class CopyOnWrite<S> {
+    private final CloneStrategy<S> copier;
+    private final CopyOnWriteStats stats;
+    private S state;
+    private boolean owned;
+
+    public CopyOnWrite(S prototype, CloneStrategy<S> copier, CopyOnWriteStats stats) {
+        this.state = prototype;
+        this.copier = copier;
+        this.stats = stats;
+        stats.created();
+    }
+
+    // for reading only - this may be the shared prototype
+    public S read() {
+        return state;
+    }
+
+    // the clone's own state, copied from the prototype on the first call
+    public S write() {
+        if (!owned) {
+            state = copier.copy(state);
+            owned = true;
+            stats.materialized();
+        }
+        return state;
+    }
+
+    // an independent copy of the current state, for cloning the clone
+    public S copy() {
+        return copier.copy(state);
+    }
+
+    public boolean isMaterialized() {
+        return owned;
+    }
+}
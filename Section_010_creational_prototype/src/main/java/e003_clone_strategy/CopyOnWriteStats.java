@@ -0,0 +1,36 @@
+package e003_clone_strategy;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// how many copy-on-write clones were handed out, and how many of them had to copy the prototype
+public final class CopyOnWriteStats {
+    private final LongAdder created = new LongAdder();
+    private final LongAdder materialized = new LongAdder();
+
+    void created() {
+        created.increment();
+    }
+
+    void materialized() {
+        materialized.increment();
+    }
+
+    public long getCreatedCount() {
+        return created.sum();
+    }
+
+    // clones that were written to, and now own a copy of the prototype's state
+    public long getMaterializedCount() {
+        return materialized.sum();
+    }
+
+    // clones that still read the prototype's state
+    public long getSharedCount() {
+        return getCreatedCount() - getMaterializedCount();
+    }
+
+    @Override
+    public String toString() {
+        return "created: " + getCreatedCount() + ", materialized: " + getMaterializedCount() + ", shared: " + getSharedCount();
+    }
+}
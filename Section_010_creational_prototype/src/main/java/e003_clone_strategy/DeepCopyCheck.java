@@ -0,0 +1,98 @@
+package e003_clone_strategy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deep copies a prototype whose fields are declared as concrete collection classes and
+ * checks that every collection comes back as the same class, with its comparator,
+ * still unmodifiable or fixed size where it was, and not shared with the prototype;
+ * that JDK values are shared, and that a JDK class it cannot rebuild is rejected.
+ * Throws at the first check that fails.
+ */
+public class DeepCopyCheck {
+
+    static class Drawing {
+        LinkedList<String> layers = new LinkedList<>();
+        TreeMap<String, int[]> colors = new TreeMap<>(Comparator.reverseOrder());
+        TreeSet<String> tags = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        List<String> locked = Collections.unmodifiableList(new ArrayList<>(Arrays.asList("frame", "title")));
+        List<String> fixed = Arrays.asList("a", "b");
+        EnumSet<TimeUnit> units = EnumSet.of(TimeUnit.SECONDS);
+        EnumMap<TimeUnit, int[]> limits = new EnumMap<>(TimeUnit.class);
+        BigDecimal price = new BigDecimal("9.99");
+        LocalDate created = LocalDate.of(2020, 1, 1);
+        List<String> frozen = List.of("x", "y");
+        List<String> none = Collections.emptyList();
+    }
+
+    static class Counter {
+        AtomicLong count = new AtomicLong();
+    }
+
+    public static void main(String[] args) {
+        Drawing prototype = new Drawing();
+        prototype.layers.add("background");
+        prototype.colors.put("red", new int[]{255, 0, 0});
+        prototype.colors.put("blue", new int[]{0, 0, 255});
+        prototype.tags.add("Sky");
+        prototype.limits.put(TimeUnit.SECONDS, new int[]{60});
+
+        Drawing copy = new DeepCopyStrategy<>(Drawing.class).copy(prototype);
+
+        check("LinkedList stays a LinkedList", copy.layers.getClass() == LinkedList.class);
+        check("LinkedList is not shared", copy.layers != prototype.layers && copy.layers.equals(prototype.layers));
+        check("TreeMap keeps its comparator", copy.colors.comparator() == prototype.colors.comparator()
+                && copy.colors.firstKey().equals("red"));
+        check("TreeMap values are copied", copy.colors.get("red") != prototype.colors.get("red")
+                && copy.colors.get("red")[0] == 255);
+        check("TreeSet keeps its comparator", copy.tags.comparator() == String.CASE_INSENSITIVE_ORDER
+                && copy.tags.contains("sky"));
+        check("unmodifiable list stays unmodifiable", copy.locked != prototype.locked
+                && copy.locked.equals(prototype.locked) && rejectsAdd(copy.locked));
+        check("Arrays.asList is copied and stays fixed size", copy.fixed != prototype.fixed
+                && copy.fixed.equals(prototype.fixed) && rejectsAdd(copy.fixed));
+        check("EnumSet is copied", copy.units != prototype.units && copy.units.equals(prototype.units));
+        check("EnumMap values are copied", copy.limits != prototype.limits
+                && copy.limits.get(TimeUnit.SECONDS) != prototype.limits.get(TimeUnit.SECONDS)
+                && copy.limits.get(TimeUnit.SECONDS)[0] == 60);
+        check("BigDecimal and LocalDate are shared", copy.price == prototype.price && copy.created == prototype.created);
+        check("List.of is shared and stays unmodifiable", copy.frozen == prototype.frozen && rejectsAdd(copy.frozen));
+        check("empty list is shared", copy.none == prototype.none);
+        try {
+            new DeepCopyStrategy<>(Counter.class).copy(new Counter());
+            check("AtomicLong is rejected", false);
+        } catch (IllegalArgumentException e) {
+            check("AtomicLong is rejected: " + e.getMessage(), true);
+        }
+        System.out.println("all deep copy checks passed");
+    }
+
+    private static boolean rejectsAdd(List<String> list) {
+        try {
+            list.add("x");
+            return false;
+        } catch (UnsupportedOperationException e) {
+            return true;
+        }
+    }
+
+    private static void check(String what, boolean ok) {
+        if (!ok) {
+            throw new IllegalStateException("failed: " + what);
+        }
+        System.out.println("ok: " + what);
+    }
+}
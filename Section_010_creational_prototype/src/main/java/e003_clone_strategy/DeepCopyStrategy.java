@@ -0,0 +1,376 @@
+package e003_clone_strategy;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Copies a prototype together with everything mutable it points at, so the copy
+ * and the prototype can be changed independently:
+ *  - Strings, boxed primitives, enums, Class objects, BigDecimal, BigInteger, UUID,
+ *    the java.time values and the List.of, Set.of and Map.of collections are immutable
+ *    and shared, the latter together with their elements, as are the empty collections
+ *    of Collections.emptyList(), emptySet() and emptyMap()
+ *  - arrays are copied, element by element for arrays of objects
+ *  - collections and maps are rebuilt as their own class, through its no argument
+ *    constructor, or its Comparator constructor for sorted ones, and refilled with copies
+ *  - an EnumSet is copied with EnumSet.copyOf, an EnumMap with its copy constructor
+ *    and then given copies of its values
+ *  - an unmodifiable view is rebuilt around a copy of what it shows, and Arrays.asList
+ *    around a copy of its array
+ *  - any other object is copied field by field in the same way, which needs a no
+ *    argument constructor on its class
+ *
+ * Any other JDK class is rejected with an IllegalArgumentException, as it can be
+ * neither copied field by field nor rebuilt as the same class.
+ *
+ * An object reachable twice is copied once, so shared references and cycles survive.
+ */
+public final class DeepCopyStrategy<T> implements CloneStrategy<T> {
+
+    // field handles of the nested types met so far
+    private static final Map<Class<?>, Layout> LAYOUTS = new ConcurrentHashMap<>();
+
+    // how to rebuild each collection and map class met so far
+    private static final Map<Class<?>, ContainerCopier> CONTAINERS = new ConcurrentHashMap<>();
+
+    // the classes of the Collections.unmodifiable views, and how to wrap a copy again
+    private static final Map<Class<?>, UnaryOperator<Object>> UNMODIFIABLE = new HashMap<>();
+
+    static {
+        unmodifiable(Collections.unmodifiableCollection(new ArrayList<>()),
+                c -> Collections.unmodifiableCollection((Collection<?>) c));
+        unmodifiable(Collections.unmodifiableList(new ArrayList<>()), c -> Collections.unmodifiableList((List<?>) c));
+        unmodifiable(Collections.unmodifiableList(new LinkedList<>()), c -> Collections.unmodifiableList((List<?>) c));
+        unmodifiable(Collections.unmodifiableSet(new HashSet<>()), c -> Collections.unmodifiableSet((Set<?>) c));
+        unmodifiable(Collections.unmodifiableSortedSet(new TreeSet<>()),
+                c -> Collections.unmodifiableSortedSet((SortedSet<?>) c));
+        unmodifiable(Collections.unmodifiableNavigableSet(new TreeSet<>()),
+                c -> Collections.unmodifiableNavigableSet((NavigableSet<?>) c));
+        unmodifiable(Collections.unmodifiableMap(new HashMap<>()), c -> Collections.unmodifiableMap((Map<?, ?>) c));
+        unmodifiable(Collections.unmodifiableSortedMap(new TreeMap<>()),
+                c -> Collections.unmodifiableSortedMap((SortedMap<?, ?>) c));
+        unmodifiable(Collections.unmodifiableNavigableMap(new TreeMap<>()),
+                c -> Collections.unmodifiableNavigableMap((NavigableMap<?, ?>) c));
+    }
+
+    private static final Class<?> ARRAYS_AS_LIST = Arrays.asList().getClass();
+
+    // Collections.emptyList() and friends hold nothing, so they are shared like the immutable values
+    private static final Set<Class<?>> EMPTY = new HashSet<>(Arrays.<Class<?>>asList(
+            Collections.emptyList().getClass(), Collections.emptySet().getClass(), Collections.emptyMap().getClass()));
+
+    private static void unmodifiable(Object sample, UnaryOperator<Object> wrap) {
+        UNMODIFIABLE.put(sample.getClass(), wrap);
+    }
+
+    private final Class<T> type;
+    private final Supplier<? extends T> allocator;
+    private final Layout layout;
+
+    public DeepCopyStrategy(Class<T> type) {
+        this(type, FieldHandles.noArgConstructor(type));
+    }
+
+    // the allocator only has to create an instance; the fields are overwritten afterwards
+    public DeepCopyStrategy(Class<T> type, Supplier<? extends T> allocator) {
+        this.type = type;
+        this.allocator = allocator;
+        this.layout = new Layout(type);
+    }
+
+    @Override
+    public T copy(T prototype) {
+        if (prototype.getClass() != type) {
+            throw new IllegalArgumentException("expected a " + type.getName() + " but got a " + prototype.getClass().getName());
+        }
+        Map<Object, Object> copies = new IdentityHashMap<>();
+        T copy = allocator.get();
+        copies.put(prototype, copy);
+        layout.copyFields(prototype, copy, copies);
+        return copy;
+    }
+
+    private static Object deepCopy(Object value, Map<Object, Object> copies) {
+        if (value == null || isImmutable(value.getClass())) {
+            return value;
+        }
+        Object copy = copies.get(value);
+        if (copy != null) {
+            return copy;
+        }
+
+        Class<?> type = value.getClass();
+        if (type.isArray()) {
+            copy = copyArray(value);
+            copies.put(value, copy);
+            if (copy instanceof Object[]) {
+                Object[] elements = (Object[]) copy;
+                for (int i = 0; i < elements.length; i++) {
+                    elements[i] = deepCopy(elements[i], copies);
+                }
+            }
+        } else if (value instanceof Collection || value instanceof Map) {
+            copy = CONTAINERS.computeIfAbsent(type, DeepCopyStrategy::containerCopier).copy(value, copies);
+            if (copy == null) {
+                copy = copyFields(value, copies);
+            }
+        } else {
+            copy = copyFields(value, copies);
+        }
+        return copy;
+    }
+
+    private static Object copyFields(Object value, Map<Object, Object> copies) {
+        Class<?> type = value.getClass();
+        if (isJdkClass(type) && type != Object.class) {
+            throw new IllegalArgumentException("cannot deep copy a " + type.getName()
+                    + ", it is a JDK class that is neither immutable nor rebuilt by this strategy");
+        }
+        Layout layout = LAYOUTS.computeIfAbsent(type, Layout::new);
+        if (layout.allocator == null) {
+            throw new IllegalArgumentException("cannot deep copy a " + type.getName() + ", it has no no argument constructor");
+        }
+        Object copy = layout.allocator.get();
+        copies.put(value, copy);
+        layout.copyFields(value, copy, copies);
+        return copy;
+    }
+
+    // a shallow copy of any array, through the array's own clone()
+    private static Object copyArray(Object array) {
+        if (array instanceof Object[]) return ((Object[]) array).clone();
+        if (array instanceof int[]) return ((int[]) array).clone();
+        if (array instanceof long[]) return ((long[]) array).clone();
+        if (array instanceof double[]) return ((double[]) array).clone();
+        if (array instanceof byte[]) return ((byte[]) array).clone();
+        if (array instanceof char[]) return ((char[]) array).clone();
+        if (array instanceof float[]) return ((float[]) array).clone();
+        if (array instanceof short[]) return ((short[]) array).clone();
+        return ((boolean[]) array).clone();
+    }
+
+    // rebuilds one collection or map; returns null when it has to be copied field by field
+    private interface ContainerCopier {
+        Object copy(Object source, Map<Object, Object> copies);
+    }
+
+    private static ContainerCopier containerCopier(Class<?> type) {
+        UnaryOperator<Object> wrap = UNMODIFIABLE.get(type);
+        if (wrap != null) {
+            return view(wrap);
+        }
+        if (EnumSet.class.isAssignableFrom(type)) {
+            // enums are shared, so the elements need no copying
+            return (source, copies) -> {
+                Object copy = EnumSet.copyOf((EnumSet<?>) source);
+                copies.put(source, copy);
+                return copy;
+            };
+        }
+        if (type == EnumMap.class) {
+            return DeepCopyStrategy::copyEnumMap;
+        }
+        if (type == ARRAYS_AS_LIST) {
+            return DeepCopyStrategy::copyArraysAsList;
+        }
+        boolean sorted = SortedSet.class.isAssignableFrom(type) || SortedMap.class.isAssignableFrom(type);
+        Constructor<?> constructor = sorted ? constructor(type, Comparator.class) : null;
+        if (constructor != null) {
+            Constructor<?> withComparator = constructor;
+            return (source, copies) -> {
+                Object target = newInstance(withComparator, comparator(source));
+                return fill(target, target, source, copies);
+            };
+        }
+        constructor = constructor(type);
+        if (constructor != null) {
+            Constructor<?> noArg = constructor;
+            return (source, copies) -> {
+                Object target = newInstance(noArg);
+                return fill(target, target, source, copies);
+            };
+        }
+        // copied field by field, or rejected there if it is a JDK class
+        return (source, copies) -> null;
+    }
+
+    // copies what the view shows into the public class closest to it, and wraps the copy the same way
+    private static ContainerCopier view(UnaryOperator<Object> wrap) {
+        return (source, copies) -> {
+            Object target = source instanceof SortedSet ? new TreeSet<>(comparator(source))
+                    : source instanceof Set ? new LinkedHashSet<>()
+                    : source instanceof Collection ? new ArrayList<>()
+                    : source instanceof SortedMap ? new TreeMap<>(comparator(source))
+                    : new LinkedHashMap<>();
+            Object copy = wrap.apply(target);
+            fill(copy, target, source, copies);
+            return copy;
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object copyEnumMap(Object source, Map<Object, Object> copies) {
+        EnumMap<?, Object> copy = new EnumMap((EnumMap) source);
+        copies.put(source, copy);
+        for (Map.Entry<?, Object> entry : copy.entrySet()) {
+            entry.setValue(deepCopy(entry.getValue(), copies));
+        }
+        return copy;
+    }
+
+    // a fixed size list again, over a copy of the array it wraps
+    private static Object copyArraysAsList(Object source, Map<Object, Object> copies) {
+        List<?> list = (List<?>) source;
+        Object[] elements = list.toArray();
+        Object copy = Arrays.asList(elements);
+        copies.put(source, copy);
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = deepCopy(elements[i], copies);
+        }
+        return copy;
+    }
+
+    // fills target with copies of the source's contents; copy is target or a view of it,
+    // and is registered first, so elements that point back at the source find it
+    @SuppressWarnings("unchecked")
+    private static Object fill(Object copy, Object target, Object source, Map<Object, Object> copies) {
+        copies.put(source, copy);
+        if (source instanceof Map) {
+            Map<Object, Object> map = (Map<Object, Object>) target;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) source).entrySet()) {
+                map.put(deepCopy(entry.getKey(), copies), deepCopy(entry.getValue(), copies));
+            }
+        } else {
+            Collection<Object> collection = (Collection<Object>) target;
+            for (Object element : (Collection<?>) source) {
+                collection.add(deepCopy(element, copies));
+            }
+        }
+        return copy;
+    }
+
+    private static Comparator<?> comparator(Object sorted) {
+        return sorted instanceof SortedSet ? ((SortedSet<?>) sorted).comparator() : ((SortedMap<?, ?>) sorted).comparator();
+    }
+
+    // the constructor if it exists and can be called from here, otherwise null
+    private static Constructor<?> constructor(Class<?> type, Class<?>... parameters) {
+        if (Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor(parameters);
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException | RuntimeException e) {
+            // missing, or in a module that does not open the class to us
+            return null;
+        }
+    }
+
+    private static Object newInstance(Constructor<?> constructor, Object... arguments) {
+        try {
+            return constructor.newInstance(arguments);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("cannot create a " + constructor.getDeclaringClass().getName(), e);
+        }
+    }
+
+    private static boolean isImmutable(Class<?> type) {
+        return type == String.class || type == Integer.class || type == Long.class || type == Double.class
+                || type == Float.class || type == Short.class || type == Byte.class || type == Character.class
+                || type == Boolean.class || type == Class.class || type.isEnum()
+                || (type.getSuperclass() != null && type.getSuperclass().isEnum())
+                || type == BigDecimal.class || type == BigInteger.class || type == UUID.class || EMPTY.contains(type)
+                || (isJdkClass(type) && (isInPackage(type, "java.time") || isInPackage(type, "java.time.chrono")
+                        || isInPackage(type, "java.time.zone")
+                        || type.getName().startsWith("java.util.ImmutableCollections$")));
+    }
+
+    // loaded by the bootstrap class loader
+    private static boolean isJdkClass(Class<?> type) {
+        return type.getClassLoader() == null;
+    }
+
+    private static boolean isInPackage(Class<?> type, String name) {
+        return type.getName().lastIndexOf('.') == name.length() && type.getName().startsWith(name);
+    }
+
+    // the fields of one class: primitives are copied by one folded handle, references one by one
+    private static final class Layout {
+        private final Supplier<?> allocator;
+        private final MethodHandle copyPrimitives;
+        private final MethodHandle[] getters;
+        private final MethodHandle[] setters;
+
+        Layout(Class<?> type) {
+            this.allocator = isInstantiable(type) ? FieldHandles.noArgConstructor(type) : null;
+            List<Field> primitives = new ArrayList<>();
+            List<Field> references = new ArrayList<>();
+            for (Field field : FieldHandles.instanceFields(type)) {
+                (field.getType().isPrimitive() ? primitives : references).add(field);
+            }
+            copyPrimitives = FieldHandles.copier(primitives);
+            getters = new MethodHandle[references.size()];
+            setters = new MethodHandle[references.size()];
+            for (int i = 0; i < references.size(); i++) {
+                getters[i] = FieldHandles.getter(references.get(i));
+                setters[i] = FieldHandles.setter(references.get(i));
+            }
+        }
+
+        private static boolean isInstantiable(Class<?> type) {
+            try {
+                type.getDeclaredConstructor();
+                return true;
+            } catch (NoSuchMethodException e) {
+                // only fine for the top level type, which brings its own allocator
+                return false;
+            }
+        }
+
+        void copyFields(Object source, Object target, Map<Object, Object> copies) {
+            try {
+                copyPrimitives.invokeExact(target, source);
+                for (int i = 0; i < getters.length; i++) {
+                    Object value = (Object) getters[i].invokeExact(source);
+                    setters[i].invokeExact(target, deepCopy(value, copies));
+                }
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package e003_clone_strategy;
+
+import java.lang.invoke.MethodHandle;
+import java.util.function.Supplier;
+
+/**
+ * A copy constructor put together at runtime: a new object comes from the allocator,
+ * then every instance field is copied across. All the field copies are folded into
+ * one MethodHandle, so copying is a single invokeExact however many fields there are.
+ *
+ * The copy is shallow in the same way Object.clone() is - a field that points at a
+ * mutable object ends up pointing at the same object. Final fields are not supported.
+ */
+public final class FieldCopyStrategy<T> implements CloneStrategy<T> {
+
+    private final Class<T> type;
+    private final Supplier<? extends T> allocator;
+    // (Object target, Object source)void
+    private final MethodHandle copyFields;
+
+    public FieldCopyStrategy(Class<T> type) {
+        this(type, FieldHandles.noArgConstructor(type));
+    }
+
+    // the allocator only has to create an instance; the fields are overwritten afterwards
+    public FieldCopyStrategy(Class<T> type, Supplier<? extends T> allocator) {
+        this.type = type;
+        this.allocator = allocator;
+        this.copyFields = FieldHandles.copier(FieldHandles.instanceFields(type));
+    }
+
+    @Override
+    public T copy(T prototype) {
+        if (prototype.getClass() != type) {
+            throw new IllegalArgumentException("expected a " + type.getName() + " but got a " + prototype.getClass().getName());
+        }
+        T copy = allocator.get();
+        try {
+            copyFields.invokeExact((Object) copy, (Object) prototype);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+        return copy;
+    }
+}
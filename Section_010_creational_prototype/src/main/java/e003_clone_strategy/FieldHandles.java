@@ -0,0 +1,112 @@
+package e003_clone_strategy;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+// reflection is only used once per type, to find the fields and turn them into MethodHandles
+final class FieldHandles {
+
+    private FieldHandles() {}
+
+    // every instance field of the type and its superclasses
+    static List<Field> instanceFields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    if (Modifier.isFinal(field.getModifiers())) {
+                        throw new IllegalArgumentException("cannot copy final field " + field);
+                    }
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    // (Object)Object getter for a reference field
+    static MethodHandle getter(Field field) {
+        try {
+            return MethodHandles.lookup().unreflectGetter(field)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    // (Object, Object)void setter for a reference field
+    static MethodHandle setter(Field field) {
+        try {
+            return MethodHandles.lookup().unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * One (Object target, Object source)void handle that copies all the given fields.
+     * Every field is copied as its own type, so primitives are never boxed.
+     */
+    static MethodHandle copier(List<Field> fields) {
+        MethodHandle copy = NO_FIELDS;
+        try {
+            for (int i = fields.size() - 1; i >= 0; i--) {
+                Field field = fields.get(i);
+                MethodHandle getter = MethodHandles.lookup().unreflectGetter(field)
+                        .asType(MethodType.methodType(field.getType(), Object.class));
+                MethodHandle setter = MethodHandles.lookup().unreflectSetter(field)
+                        .asType(MethodType.methodType(void.class, Object.class, field.getType()));
+                // (target, source) -> setter(target, getter(source))
+                copy = MethodHandles.foldArguments(copy, MethodHandles.filterArguments(setter, 1, getter));
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(e);
+        }
+        return copy;
+    }
+
+    private static final MethodHandle NO_FIELDS;
+
+    static {
+        try {
+            NO_FIELDS = MethodHandles.lookup().findStatic(FieldHandles.class, "noFields",
+                    MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static void noFields(Object target, Object source) {
+    }
+
+    // allocates through the no argument constructor, whatever its visibility
+    static <T> Supplier<T> noArgConstructor(Class<T> type) {
+        MethodHandle constructor;
+        try {
+            Constructor<T> c = type.getDeclaredConstructor();
+            c.setAccessible(true);
+            constructor = MethodHandles.lookup().unreflectConstructor(c)
+                    .asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException(type.getName() + " needs a no argument constructor, or pass an allocator", e);
+        }
+        return () -> {
+            try {
+                return type.cast((Object) constructor.invokeExact());
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package e003_clone_strategy;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The copy-on-write prototype cache of ShapeCache and BasicCarCache, with a
+ * pluggable CloneStrategy per prototype class.
+ *
+ * Every prototype is stored together with the strategy of its class, so get()
+ * is one map read and one copy, without any locking. Changing a strategy or a
+ * prototype publishes a new immutable map, which readers pick up on their next get().
+ *
+ * A prototype must not be changed once it is in the registry; put a new one instead.
+ */
+public final class PrototypeRegistry<T> {
+
+    private static final class Entry<T> {
+        final T prototype;
+        final CloneStrategy<T> strategy;
+
+        Entry(T prototype, CloneStrategy<T> strategy) {
+            this.prototype = prototype;
+            this.strategy = strategy;
+        }
+    }
+
+    private final CloneStrategy<T> defaultStrategy;
+    private final Map<Class<?>, CloneStrategy<T>> strategies = new HashMap<>();
+    private volatile Map<String, Entry<T>> entries = Collections.emptyMap();
+
+    public PrototypeRegistry(CloneStrategy<T> defaultStrategy) {
+        this.defaultStrategy = defaultStrategy;
+    }
+
+    public T get(String key) {
+        Entry<T> entry = entries.get(key);
+        return entry == null ? null : entry.strategy.copy(entry.prototype);
+    }
+
+    // the prototype itself - for reading only
+    public T getPrototype(String key) {
+        Entry<T> entry = entries.get(key);
+        return entry == null ? null : entry.prototype;
+    }
+
+    // adds or replaces a single prototype
+    public synchronized void put(String key, T prototype) {
+        Map<String, Entry<T>> copy = new HashMap<>(entries);
+        copy.put(key, entry(prototype));
+        entries = Collections.unmodifiableMap(copy);
+    }
+
+    // replaces every prototype at once
+    public synchronized void reload(Map<String, ? extends T> prototypes) {
+        Map<String, Entry<T>> copy = new HashMap<>();
+        for (Map.Entry<String, ? extends T> prototype : prototypes.entrySet()) {
+            copy.put(prototype.getKey(), entry(prototype.getValue()));
+        }
+        entries = Collections.unmodifiableMap(copy);
+    }
+
+    // copy prototypes of exactly this class with the given strategy, from now on.
+    // A strategy for a supertype (like a CloneStrategy<T>) is fine, as long as it returns a T
+    @SuppressWarnings("unchecked")
+    public synchronized <S extends T> void setStrategy(Class<S> type, CloneStrategy<? super S> strategy) {
+        strategies.put(type, (CloneStrategy<T>) strategy);
+        Map<String, Entry<T>> copy = new HashMap<>();
+        for (Map.Entry<String, Entry<T>> entry : entries.entrySet()) {
+            copy.put(entry.getKey(), entry(entry.getValue().prototype));
+        }
+        entries = Collections.unmodifiableMap(copy);
+    }
+
+    private Entry<T> entry(T prototype) {
+        CloneStrategy<T> strategy = strategies.getOrDefault(prototype.getClass(), defaultStrategy);
+        return new Entry<>(prototype, strategy);
+    }
+}
@@ -0,0 +1,32 @@
+package e003_clone_strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// a prototype with nested mutable state, to show the difference between the strategies
+public class Sketch implements Cloneable {
+    String title;
+    int[] rgb = {0, 0, 0};
+    List<String> points = new ArrayList<>();
+
+    public Sketch() {}
+
+    public Sketch(String title) {
+        this.title = title;
+    }
+
+    @Override
+    protected Sketch clone() {
+        try {
+            return (Sketch) super.clone();
+        } catch (CloneNotSupportedException e) {
+            // Sketch is Cloneable, so this cannot happen
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return title + " rgb=" + rgb[0] + "," + rgb[1] + "," + rgb[2] + " points=" + points;
+    }
+}
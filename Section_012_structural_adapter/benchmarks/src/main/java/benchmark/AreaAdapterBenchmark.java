@@ -0,0 +1,77 @@
+package benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import e002_adapter_composition2.BatchCalculatorAdapter;
+import e002_adapter_composition2.CalculatorAdapter;
+import e002_adapter_composition2.CalculatorInterface;
+import e002_adapter_composition2.Triangle;
+
+/**
+ * Area of 1M triangles: one CalculatorAdapter per Triangle object against
+ * BatchCalculatorAdapter over arrays of bases and heights, on one thread and on
+ * the fork/join pool. Scores are per triangle.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class AreaAdapterBenchmark {
+
+    private static final int TRIANGLES = 1_000_000;
+
+    private final Triangle[] triangles = new Triangle[TRIANGLES];
+    private final double[] base = new double[TRIANGLES];
+    private final double[] height = new double[TRIANGLES];
+    private final double[] area = new double[TRIANGLES];
+    private final BatchCalculatorAdapter batch = new BatchCalculatorAdapter();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < TRIANGLES; i++) {
+            base[i] = 1 + random.nextInt(100);
+            height[i] = 1 + random.nextInt(100);
+            triangles[i] = new Triangle(base[i], height[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRIANGLES)
+    public double[] adapterPerTriangle() {
+        for (int i = 0; i < TRIANGLES; i++) {
+            CalculatorInterface calculator = new CalculatorAdapter(triangles[i]);
+            area[i] = calculator.getArea(null);
+        }
+        return area;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRIANGLES)
+    public double[] batch() {
+        batch.getAreas(base, height, area);
+        return area;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRIANGLES)
+    public double[] batchParallel() {
+        batch.getAreasParallel(base, height, area);
+        return area;
+    }
+}
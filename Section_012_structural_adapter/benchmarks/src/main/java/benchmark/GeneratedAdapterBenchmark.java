@@ -0,0 +1,95 @@
+package benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import e001_adapter_composition1.Duck;
+import e001_adapter_composition1.Turkey;
+import e001_adapter_composition1.TurkeyAdapter;
+import e005_adapter_generator.AdapterSpec;
+
+/**
+ * One duck.quack() on a turkey: called on the turkey directly, through the
+ * hand-written TurkeyAdapter, through an AdapterSpec generated adapter and through
+ * a java.lang.reflect.Proxy that forwards with Method.invoke.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class GeneratedAdapterBenchmark {
+
+    public static class CountingTurkey implements Turkey {
+        int gobbles;
+
+        @Override
+        public void gobble() {
+            gobbles++;
+        }
+
+        @Override
+        public void fly() {
+        }
+    }
+
+    private final CountingTurkey turkey = new CountingTurkey();
+    private final Duck handWritten = new TurkeyAdapter(turkey);
+    private final Duck generated = AdapterSpec.of(Duck.class, Turkey.class)
+            .map("quack", "gobble")
+            .generate()
+            .adapt(turkey);
+    private final Duck proxy = proxy(turkey);
+
+    // the reflective equivalent of the generated adapter
+    private static Duck proxy(Turkey turkey) {
+        Map<Method, Method> targets = new HashMap<>();
+        try {
+            targets.put(Duck.class.getMethod("quack"), Turkey.class.getMethod("gobble"));
+            targets.put(Duck.class.getMethod("fly"), Turkey.class.getMethod("fly"));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+        InvocationHandler handler = (p, method, args) -> targets.get(method).invoke(turkey, args);
+        return (Duck) Proxy.newProxyInstance(Duck.class.getClassLoader(), new Class<?>[]{Duck.class}, handler);
+    }
+
+    @Benchmark
+    public int direct() {
+        turkey.gobble();
+        return turkey.gobbles;
+    }
+
+    @Benchmark
+    public int handWritten() {
+        handWritten.quack();
+        return turkey.gobbles;
+    }
+
+    @Benchmark
+    public int generated() {
+        generated.quack();
+        return turkey.gobbles;
+    }
+
+    @Benchmark
+    public int proxy() {
+        proxy.quack();
+        return turkey.gobbles;
+    }
+}
@@ -0,0 +1,125 @@
+package benchmark;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import e004_challenge.ChannelMediaPlayer;
+import e004_challenge.MediaSink;
+
+/**
+ * Plays a 1 GB local file through ChannelMediaPlayer in both modes, against reading
+ * it with a BufferedInputStream into a heap array. Every sink reads all the bytes.
+ *
+ * One operation is one MB, so the scores are MB/s. Run main() (or pass -prof gc) to
+ * see gc.alloc.rate.norm, the heap allocated per MB played.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MediaStreamBenchmark {
+
+    private static final int MEGABYTES = 1024;
+
+    private Path file;
+    private long checksum;
+
+    private final MediaSink sink = chunk -> {
+        // stands in for a decoder that has to look at every byte
+        ByteBuffer data = chunk.order(ByteOrder.LITTLE_ENDIAN);
+        long sum = checksum;
+        while (data.remaining() >= Long.BYTES) {
+            sum += data.getLong();
+        }
+        while (data.hasRemaining()) {
+            sum += data.get();
+        }
+        checksum = sum;
+    };
+
+    private final ChannelMediaPlayer mapped = new ChannelMediaPlayer(ChannelMediaPlayer.Mode.MAPPED, sink);
+    private final ChannelMediaPlayer buffered = new ChannelMediaPlayer(ChannelMediaPlayer.Mode.BUFFERED, sink);
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("media", ".mp4");
+        byte[] block = new byte[1024 * 1024];
+        Random random = new Random(42);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (int i = 0; i < MEGABYTES; i++) {
+                random.nextBytes(block);
+                out.write(block);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEGABYTES)
+    public long mapped() {
+        checksum = 0;
+        mapped.play(file.toString());
+        return checksum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEGABYTES)
+    public long buffered() {
+        checksum = 0;
+        buffered.play(file.toString());
+        return checksum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEGABYTES)
+    public long heapStream() throws IOException {
+        checksum = 0;
+        byte[] chunk = new byte[ChannelMediaPlayer.CHUNK_SIZE];
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file.toFile()))) {
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                sink.write(ByteBuffer.wrap(chunk, 0, read));
+            }
+        }
+        return checksum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MediaStreamBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,75 @@
+package e002_adapter_composition2;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The CalculatorAdapter for many triangles at once.
+ *
+ * The triangles come as two parallel arrays (base[i], height[i]) and the areas go
+ * into a third, so nothing is allocated per triangle. Every area is worked out the
+ * way CalculatorAdapter does it - a rectangle of length = base and
+ * width = 0.5 * height - so both adapters give exactly the same results.
+ */
+public class BatchCalculatorAdapter {
+    // below this many triangles a task is not split any further
+    private static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    public void getAreas(double[] base, double[] height, double[] area) {
+        checkLengths(base, height, area);
+        getAreas(base, height, area, 0, area.length);
+    }
+
+    public void getAreas(double[] base, double[] height, double[] area, int from, int to) {
+        for (int i = from; i < to; i++) {
+            // rectangle.length * rectangle.width
+            area[i] = base[i] * (0.5 * height[i]);
+        }
+    }
+
+    // like getAreas, split across the fork/join common pool for big inputs
+    public void getAreasParallel(double[] base, double[] height, double[] area) {
+        checkLengths(base, height, area);
+        if (area.length <= PARALLEL_THRESHOLD) {
+            getAreas(base, height, area, 0, area.length);
+        } else {
+            ForkJoinPool.commonPool().invoke(new AreaTask(base, height, area, 0, area.length));
+        }
+    }
+
+    private static void checkLengths(double[] base, double[] height, double[] area) {
+        if (base.length != area.length || height.length != area.length) {
+            throw new IllegalArgumentException("base, height and area must have the same length: "
+                    + base.length + ", " + height.length + ", " + area.length);
+        }
+    }
+
+    private class AreaTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] base;
+        private final double[] height;
+        private final double[] area;
+        private final int from;
+        private final int to;
+
+        AreaTask(double[] base, double[] height, double[] area, int from, int to) {
+            this.base = base;
+            this.height = height;
+            this.area = area;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                getAreas(base, height, area, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new AreaTask(base, height, area, from, middle),
+                      new AreaTask(base, height, area, middle, to));
+        }
+    }
+}
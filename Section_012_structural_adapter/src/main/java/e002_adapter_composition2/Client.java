@@ -8,5 +8,14 @@ public class Client {
         CalculatorInterface calculatorInterface = new CalculatorAdapter(t);
 
         System.out.println("Aread of Triangle: " + calculatorInterface.getArea(null));
+
+        // many triangles at once, as arrays of bases and heights
+        double[] base = {20, 3, 8};
+        double[] height = {10, 4, 2};
+        double[] area = new double[3];
+        new BatchCalculatorAdapter().getAreas(base, height, area);
+        for (int i = 0; i < area.length; i++) {
+            System.out.println("Aread of Triangle " + (i + 1) + ": " + area[i]);
+        }
     }
 }
@@ -4,6 +4,11 @@ public interface AdvancedMediaPlayer {
     void loadFileName(String filename);
     void listen();
 
+    // loads and plays in one call; players that keep no per-file state can be shared
+    default void play(String filename) {
+        loadFileName(filename);
+        listen();
+    }
 }
 
 class VlcPlayer implements AdvancedMediaPlayer{
@@ -16,7 +21,12 @@ class VlcPlayer implements AdvancedMediaPlayer{
 
     @Override
     public void listen() {
-        System.out.println("Playing vlc file. Name: " + myFile);
+        play(myFile);
+    }
+
+    @Override
+    public void play(String filename) {
+        System.out.println("Playing vlc file. Name: " + filename);
     }
 }
 
@@ -30,6 +40,11 @@ class Mp4Player implements AdvancedMediaPlayer{
 
     @Override
     public void listen() {
-        System.out.println("Playing mp4 file. Name: " + myFile);
+        play(myFile);
     }
-}
\ No newline at end of file
+
+    @Override
+    public void play(String filename) {
+        System.out.println("Playing mp4 file. Name: " + filename);
+    }
+}
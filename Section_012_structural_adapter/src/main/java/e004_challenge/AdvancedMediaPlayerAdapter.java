@@ -10,7 +10,7 @@ public class AdvancedMediaPlayerAdapter implements MediaPlayer {
 
     @Override
     public void play(String audioType, String filename) {
-        advancedMediaPlayer.loadFileName(filename);
-        advancedMediaPlayer.listen();
+        // the file name is passed along, not stored, so one adapter can serve many callers
+        advancedMediaPlayer.play(filename);
     }
 }
@@ -0,0 +1,101 @@
+package e004_challenge;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A MediaPlayer that plays every format and does not block the caller.
+ *
+ * Formats are looked up once through MediaFormat and dispatched through an EnumMap to
+ * one shared player per format. The players keep no per-call state, so any number of
+ * callers can play at the same time.
+ *
+ * Once the executor is shut down, playAsync() returns a future that has failed with a
+ * RejectedExecutionException, and play() throws it.
+ */
+public class AsyncMediaPlayer implements MediaPlayer {
+
+    private final Map<MediaFormat, MediaPlayer> players = new EnumMap<>(MediaFormat.class);
+    private final ExecutorService executor;
+
+    public AsyncMediaPlayer(ExecutorService executor) {
+        this.executor = executor;
+        players.put(MediaFormat.MP3, new AudioPlayer());
+        players.put(MediaFormat.MP4, new AdvancedMediaPlayerAdapter(new Mp4Player()));
+        players.put(MediaFormat.VLC, new AdvancedMediaPlayerAdapter(new VlcPlayer()));
+    }
+
+    /**
+     * A fixed pool of daemon threads with a bounded queue. When the queue is full the
+     * caller plays the file itself, which slows down whoever is submitting too fast.
+     * After shutdown it rejects the file instead, like the default AbortPolicy.
+     */
+    public static ExecutorService newBoundedExecutor(int threads, int queueCapacity) {
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "media-player-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    if (pool.isShutdown()) {
+                        throw new RejectedExecutionException("Media player has been shut down");
+                    }
+                    runnable.run();
+                });
+    }
+
+    public CompletableFuture<Void> playAsync(String audioType, String filename) {
+        MediaFormat format = MediaFormat.of(audioType);
+        if (format == null) {
+            return failed(new IllegalArgumentException("Invalid media. " + audioType + " format not supported"));
+        }
+        // an executor with a CallerRunsPolicy would drop the task silently, and the future never complete
+        if (executor.isShutdown()) {
+            return failed(new RejectedExecutionException("Media player has been shut down"));
+        }
+        MediaPlayer player = players.get(format);
+        try {
+            return CompletableFuture.runAsync(() -> player.play(audioType, filename), executor);
+        } catch (RejectedExecutionException e) {
+            return failed(e);
+        }
+    }
+
+    // plays like AudioPlayer does: an unknown format is reported, not thrown
+    @Override
+    public void play(String audioType, String filename) {
+        if (MediaFormat.of(audioType) == null) {
+            System.out.println("Invalid media. " + audioType + " format not supported");
+            return;
+        }
+        try {
+            playAsync(audioType, filename).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static CompletableFuture<Void> failed(Throwable cause) {
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        failed.completeExceptionally(cause);
+        return failed;
+    }
+}
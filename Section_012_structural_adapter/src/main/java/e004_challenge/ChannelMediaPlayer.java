@@ -0,0 +1,119 @@
+package e004_challenge;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An AdvancedMediaPlayer that really reads the file and streams it to a MediaSink,
+ * without ever holding the whole file on the heap.
+ *
+ * MAPPED maps the file region by region and hands the sink views of the mapping.
+ * BUFFERED reads the file into a direct buffer that every play on the same thread reuses.
+ */
+public class ChannelMediaPlayer implements AdvancedMediaPlayer {
+
+    public enum Mode { MAPPED, BUFFERED }
+
+    public static final int CHUNK_SIZE = 64 * 1024;
+    // how much of the file is mapped at a time, well below the 2 GB a mapping may cover
+    private static final long REGION_SIZE = 64L * 1024 * 1024;
+
+    private static final ThreadLocal<ByteBuffer> BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(CHUNK_SIZE));
+
+    private final Mode mode;
+    private final MediaSink sink;
+    private FileChannel channel;
+
+    public ChannelMediaPlayer(Mode mode, MediaSink sink) {
+        this.mode = mode;
+        this.sink = sink;
+    }
+
+    @Override
+    public void loadFileName(String filename) {
+        closeChannel();
+        channel = open(filename);
+    }
+
+    @Override
+    public void listen() {
+        if (channel == null) {
+            throw new IllegalStateException("No file loaded");
+        }
+        try {
+            stream(channel);
+        } finally {
+            closeChannel();
+        }
+    }
+
+    // opens, streams and closes in one call, so one player can be shared by many threads
+    @Override
+    public void play(String filename) {
+        try (FileChannel fileChannel = open(filename)) {
+            stream(fileChannel);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void stream(FileChannel fileChannel) {
+        try {
+            if (mode == Mode.MAPPED) {
+                streamMapped(fileChannel);
+            } else {
+                streamBuffered(fileChannel);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void streamMapped(FileChannel fileChannel) throws IOException {
+        long size = fileChannel.size();
+        for (long offset = 0; offset < size; offset += REGION_SIZE) {
+            MappedByteBuffer region = fileChannel.map(FileChannel.MapMode.READ_ONLY, offset,
+                    Math.min(REGION_SIZE, size - offset));
+            for (int start = 0; start < region.capacity(); start += CHUNK_SIZE) {
+                region.limit(Math.min(start + CHUNK_SIZE, region.capacity())).position(start);
+                sink.write(region.slice());
+            }
+        }
+    }
+
+    private void streamBuffered(FileChannel fileChannel) throws IOException {
+        ByteBuffer buffer = BUFFER.get();
+        buffer.clear();
+        while (fileChannel.read(buffer) != -1) {
+            buffer.flip();
+            sink.write(buffer);
+            buffer.clear();
+        }
+    }
+
+    private static FileChannel open(String filename) {
+        try {
+            return FileChannel.open(Paths.get(filename), StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                channel = null;
+            }
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package e004_challenge;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
 public class Client {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         MediaPlayer audioPlayer = new AudioPlayer();
         audioPlayer.play("mp3", "jasonsMusic.mp3");
 
@@ -15,5 +20,33 @@ public class Client {
 
         audioPlayer.play("vld", "far far.vlc");
 
+        // every format through one shared player, without waiting for each song
+        AsyncMediaPlayer asyncPlayer = new AsyncMediaPlayer(AsyncMediaPlayer.newBoundedExecutor(2, 16));
+        CompletableFuture.allOf(
+                asyncPlayer.playAsync("mp3", "jasonsMusic.mp3"),
+                asyncPlayer.playAsync("MP4", "alone.mp4"),
+                asyncPlayer.playAsync("vlc", "far far.vlc")).join();
+        asyncPlayer.playAsync("vld", "far far.vlc")
+                .exceptionally(e -> {
+                    System.out.println(e.getMessage());
+                    return null;
+                })
+                .join();
+
+        // a player that really reads the file, here just counting the bytes it streams
+        Path song = Files.createTempFile("song", ".mp4");
+        Files.write(song, new byte[200_000]);
+        long[] bytes = new long[1];
+        MediaSink counter = chunk -> {
+            bytes[0] += chunk.remaining();
+            chunk.position(chunk.limit());
+        };
+        for (ChannelMediaPlayer.Mode mode : ChannelMediaPlayer.Mode.values()) {
+            bytes[0] = 0;
+            new AdvancedMediaPlayerAdapter(new ChannelMediaPlayer(mode, counter)).play("mp4", song.toString());
+            System.out.println("Streamed " + bytes[0] + " bytes (" + mode + ")");
+        }
+        Files.delete(song);
+
     }
 }
@@ -0,0 +1,24 @@
+package e004_challenge;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+public enum MediaFormat {
+    MP3, MP4, VLC;
+
+    private static final Map<String, MediaFormat> BY_NAME;
+
+    static {
+        Map<String, MediaFormat> byName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (MediaFormat format : values()) {
+            byName.put(format.name(), format);
+        }
+        BY_NAME = Collections.unmodifiableMap(byName);
+    }
+
+    // the format for an audio type like "mp4" or "MP4", or null if there is none
+    public static MediaFormat of(String audioType) {
+        return audioType == null ? null : BY_NAME.get(audioType);
+    }
+}
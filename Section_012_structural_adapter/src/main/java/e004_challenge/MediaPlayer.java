@@ -7,7 +7,7 @@ public interface MediaPlayer {
 class AudioPlayer implements MediaPlayer{
     @Override
     public void play(String audioType, String filename) {
-        if(audioType.equalsIgnoreCase("mp3")){
+        if(MediaFormat.of(audioType) == MediaFormat.MP3){
             System.out.println("Playing mp3 file. Name: " + filename);
         } else {
             System.out.println("Invalid media. " + audioType + " format not supported");
@@ -0,0 +1,19 @@
+package e004_challenge;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Where a ChannelMediaPlayer sends the file it plays, one chunk at a time.
+ *
+ * The chunk is only valid during the call: it may be a view of a mapped file or a
+ * buffer that is refilled for the next chunk, so a sink that wants to keep the bytes
+ * has to copy them.
+ */
+@FunctionalInterface
+public interface MediaSink {
+    void write(ByteBuffer chunk);
+
+    static MediaSink discard() {
+        return chunk -> chunk.position(chunk.limit());
+    }
+}
@@ -0,0 +1,121 @@
+package e004_challenge;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Fires 10k play requests at one shared AsyncMediaPlayer at the same time and checks
+ * that every file was played exactly once, by the player for its format.
+ *
+ * With the old loadFileName/listen pair a shared player could print another caller's
+ * file name, which shows up here as a file played twice and another one never.
+ *
+ * The media files are small random files written to a temporary directory.
+ *
+ * Usage: PlaybackLoadTest [requests] [threads]
+ */
+public class PlaybackLoadTest {
+
+    private static final String[] TYPES = {"mp3", "MP4", "vlc"};
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+
+        Path dir = Files.createTempDirectory("media");
+        String[] files = createFakeMedia(dir, requests);
+
+        ExecutorService executor = AsyncMediaPlayer.newBoundedExecutor(threads, 1024);
+        AsyncMediaPlayer player = new AsyncMediaPlayer(executor);
+
+        // the players print to System.out, so collect that instead of flooding the console
+        PrintStream console = System.out;
+        ByteArrayOutputStream played = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(played, true, "UTF-8"));
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[requests];
+        CountDownLatch start = new CountDownLatch(1);
+        long elapsed;
+        try {
+            Thread[] callers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                int first = t;
+                callers[t] = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = first; i < requests; i += threads) {
+                        futures[i] = player.playAsync(TYPES[i % TYPES.length], files[i]);
+                    }
+                });
+                callers[t].start();
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Thread caller : callers) {
+                caller.join();
+            }
+            CompletableFuture.allOf(futures).join();
+            elapsed = System.nanoTime() - begin;
+        } finally {
+            System.setOut(console);
+            executor.shutdown();
+        }
+
+        int failures = check(new String(played.toByteArray(), StandardCharsets.UTF_8), files);
+        System.out.printf("%d requests on %d threads in %.1f ms, %d wrong%n",
+                requests, threads, elapsed / 1e6, failures);
+
+        for (String file : files) {
+            Files.delete(dir.resolve(file));
+        }
+        Files.delete(dir);
+        if (failures != 0) {
+            System.exit(1);
+        }
+    }
+
+    private static String[] createFakeMedia(Path dir, int count) throws IOException {
+        Random random = new Random(42);
+        byte[] content = new byte[256];
+        String[] files = new String[count];
+        for (int i = 0; i < count; i++) {
+            files[i] = "track" + i + "." + TYPES[i % TYPES.length].toLowerCase();
+            random.nextBytes(content);
+            Files.write(dir.resolve(files[i]), content);
+        }
+        return files;
+    }
+
+    // every file has to appear exactly once, on a line from the player for its format
+    private static int check(String output, String[] files) {
+        Map<String, Integer> seen = new HashMap<>();
+        for (String line : output.split("\n")) {
+            if (!line.isEmpty()) {
+                seen.merge(line, 1, Integer::sum);
+            }
+        }
+        int failures = 0;
+        for (String file : files) {
+            String format = file.substring(file.lastIndexOf('.') + 1);
+            Integer times = seen.remove("Playing " + format + " file. Name: " + file);
+            if (times == null || times != 1) {
+                failures++;
+            }
+        }
+        return failures + seen.size();
+    }
+}
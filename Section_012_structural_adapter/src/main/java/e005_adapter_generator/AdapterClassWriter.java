@@ -0,0 +1,313 @@
+package e005_adapter_generator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the class file of a generated adapter:
+ *
+ *     public final class XAdapter$n implements I {
+ *         private final T target;
+ *         public XAdapter$n(T target) { this.target = target; }
+ *         public R m(A a, B b) { return target.n(a, b); }   // one per mapped method
+ *         public Object m(A a, B b) { return this.m(a, b); }  // one per covariant variant of m
+ *     }
+ *
+ * The code has no branches, so no stack map frames are needed.
+ */
+final class AdapterClassWriter {
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+    private static final int JAVA_8 = 52;
+
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ILOAD = 0x15;
+    private static final int LLOAD = 0x16;
+    private static final int FLOAD = 0x17;
+    private static final int DLOAD = 0x18;
+    private static final int ALOAD = 0x19;
+    private static final int IRETURN = 0xac;
+    private static final int LRETURN = 0xad;
+    private static final int FRETURN = 0xae;
+    private static final int DRETURN = 0xaf;
+    private static final int ARETURN = 0xb0;
+    private static final int RETURN = 0xb1;
+    private static final int POP = 0x57;
+    private static final int POP2 = 0x58;
+    private static final int GETFIELD = 0xb4;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKEINTERFACE = 0xb9;
+
+    private final String name;
+    private final Class<?> interfaceType;
+    private final Class<?> targetType;
+
+    private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream pool = new DataOutputStream(poolBytes);
+    private final Map<String, Integer> constants = new HashMap<>();
+    private int poolSize = 1;
+
+    AdapterClassWriter(String name, Class<?> interfaceType, Class<?> targetType) {
+        this.name = name;
+        this.interfaceType = interfaceType;
+        this.targetType = targetType;
+    }
+
+    // every method is {interface method, target method}, every bridge {variant, method it calls}
+    byte[] write(List<Method[]> methods, List<Method[]> bridges) {
+        try {
+            ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+            DataOutputStream body = new DataOutputStream(bodyBytes);
+            String targetDescriptor = descriptor(targetType);
+
+            body.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            body.writeShort(classRef(name));
+            body.writeShort(classRef("java/lang/Object"));
+            body.writeShort(1);
+            body.writeShort(classRef(internalName(interfaceType)));
+
+            body.writeShort(1);
+            body.writeShort(ACC_PRIVATE | ACC_FINAL);
+            body.writeShort(utf8("target"));
+            body.writeShort(utf8(targetDescriptor));
+            body.writeShort(0);
+
+            body.writeShort(1 + methods.size() + bridges.size());
+            writeConstructor(body, targetDescriptor);
+            for (Method[] pair : methods) {
+                writeForwarder(body, pair[0], pair[1], targetDescriptor);
+            }
+            for (Method[] pair : bridges) {
+                writeBridge(body, pair[0], pair[1]);
+            }
+            body.writeShort(0);
+
+            ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(classBytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(JAVA_8);
+            out.writeShort(poolSize);
+            poolBytes.writeTo(out);
+            bodyBytes.writeTo(out);
+            return classBytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeConstructor(DataOutputStream body, String targetDescriptor) throws IOException {
+        ByteArrayOutputStream code = new ByteArrayOutputStream();
+        DataOutputStream c = new DataOutputStream(code);
+        c.writeByte(ALOAD_0);
+        c.writeByte(INVOKESPECIAL);
+        c.writeShort(memberRef(10, "java/lang/Object", "<init>", "()V"));
+        c.writeByte(ALOAD_0);
+        c.writeByte(ALOAD_1);
+        c.writeByte(PUTFIELD);
+        c.writeShort(memberRef(9, name, "target", targetDescriptor));
+        c.writeByte(RETURN);
+        writeMethod(body, "<init>", "(" + targetDescriptor + ")V", code.toByteArray(), 2, 2);
+    }
+
+    private void writeForwarder(DataOutputStream body, Method method, Method target,
+                                String targetDescriptor) throws IOException {
+        ByteArrayOutputStream code = new ByteArrayOutputStream();
+        DataOutputStream c = new DataOutputStream(code);
+        c.writeByte(ALOAD_0);
+        c.writeByte(GETFIELD);
+        c.writeShort(memberRef(9, name, "target", targetDescriptor));
+        int slot = loadParameters(c, method);
+
+        String targetMethodDescriptor = descriptor(target);
+        if (targetType.isInterface()) {
+            c.writeByte(INVOKEINTERFACE);
+            c.writeShort(memberRef(11, internalName(targetType), target.getName(), targetMethodDescriptor));
+            c.writeByte(slot);
+            c.writeByte(0);
+        } else {
+            c.writeByte(INVOKEVIRTUAL);
+            c.writeShort(memberRef(10, internalName(targetType), target.getName(), targetMethodDescriptor));
+        }
+
+        Class<?> returns = method.getReturnType();
+        Class<?> targetReturns = target.getReturnType();
+        if (returns == void.class) {
+            if (targetReturns != void.class) {
+                c.writeByte(slots(targetReturns) == 2 ? POP2 : POP);
+            }
+            c.writeByte(RETURN);
+        } else {
+            c.writeByte(returnOpcode(returns));
+        }
+        int maxStack = Math.max(slot, slots(targetReturns));
+        writeMethod(body, method.getName(), descriptor(method), code.toByteArray(), maxStack, slot);
+    }
+
+    // the variant has the same parameters as the method, and returns a supertype of its return type
+    private void writeBridge(DataOutputStream body, Method variant, Method method) throws IOException {
+        ByteArrayOutputStream code = new ByteArrayOutputStream();
+        DataOutputStream c = new DataOutputStream(code);
+        c.writeByte(ALOAD_0);
+        int slot = loadParameters(c, variant);
+        c.writeByte(INVOKEVIRTUAL);
+        c.writeShort(memberRef(10, name, method.getName(), descriptor(method)));
+        c.writeByte(returnOpcode(variant.getReturnType()));
+        int maxStack = Math.max(slot, slots(method.getReturnType()));
+        writeMethod(body, variant.getName(), descriptor(variant), code.toByteArray(), maxStack, slot);
+    }
+
+    // pushes the parameters in slots 1 and up; returns the first slot after them
+    private static int loadParameters(DataOutputStream c, Method method) throws IOException {
+        int slot = 1;
+        for (Class<?> parameter : method.getParameterTypes()) {
+            if (slot > 255) {
+                throw new IllegalArgumentException(method + " has too many parameters");
+            }
+            c.writeByte(loadOpcode(parameter));
+            c.writeByte(slot);
+            slot += slots(parameter);
+        }
+        return slot;
+    }
+
+    private void writeMethod(DataOutputStream body, String methodName, String methodDescriptor,
+                             byte[] code, int maxStack, int maxLocals) throws IOException {
+        body.writeShort(ACC_PUBLIC);
+        body.writeShort(utf8(methodName));
+        body.writeShort(utf8(methodDescriptor));
+        body.writeShort(1);
+        body.writeShort(utf8("Code"));
+        body.writeInt(12 + code.length);
+        body.writeShort(maxStack);
+        body.writeShort(maxLocals);
+        body.writeInt(code.length);
+        body.write(code);
+        body.writeShort(0);
+        body.writeShort(0);
+    }
+
+    private static int loadOpcode(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return ALOAD;
+        }
+        if (type == long.class) {
+            return LLOAD;
+        }
+        if (type == float.class) {
+            return FLOAD;
+        }
+        return type == double.class ? DLOAD : ILOAD;
+    }
+
+    private static int returnOpcode(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return ARETURN;
+        }
+        if (type == long.class) {
+            return LRETURN;
+        }
+        if (type == float.class) {
+            return FRETURN;
+        }
+        return type == double.class ? DRETURN : IRETURN;
+    }
+
+    private static int slots(Class<?> type) {
+        if (type == void.class) {
+            return 0;
+        }
+        return type == long.class || type == double.class ? 2 : 1;
+    }
+
+    private static String internalName(Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    private static String descriptor(Method method) {
+        StringBuilder descriptor = new StringBuilder("(");
+        for (Class<?> parameter : method.getParameterTypes()) {
+            descriptor.append(descriptor(parameter));
+        }
+        return descriptor.append(')').append(descriptor(method.getReturnType())).toString();
+    }
+
+    private static String descriptor(Class<?> type) {
+        if (type.isArray()) {
+            return internalName(type);
+        }
+        if (!type.isPrimitive()) {
+            return "L" + internalName(type) + ";";
+        }
+        if (type == void.class) return "V";
+        if (type == boolean.class) return "Z";
+        if (type == byte.class) return "B";
+        if (type == char.class) return "C";
+        if (type == short.class) return "S";
+        if (type == int.class) return "I";
+        if (type == long.class) return "J";
+        if (type == float.class) return "F";
+        return "D";
+    }
+
+    // constant pool entries, each written once
+
+    private int utf8(String value) throws IOException {
+        Integer index = constants.get("U" + value);
+        if (index == null) {
+            pool.writeByte(1);
+            pool.writeUTF(value);
+            index = add("U" + value);
+        }
+        return index;
+    }
+
+    private int classRef(String internalName) throws IOException {
+        Integer index = constants.get("C" + internalName);
+        if (index == null) {
+            int nameIndex = utf8(internalName);
+            pool.writeByte(7);
+            pool.writeShort(nameIndex);
+            index = add("C" + internalName);
+        }
+        return index;
+    }
+
+    // tag 9 is a field, 10 a class method and 11 an interface method
+    private int memberRef(int tag, String owner, String memberName, String memberDescriptor) throws IOException {
+        String key = tag + owner + "." + memberName + memberDescriptor;
+        Integer index = constants.get(key);
+        if (index == null) {
+            int ownerIndex = classRef(owner);
+            int nameIndex = utf8(memberName);
+            int descriptorIndex = utf8(memberDescriptor);
+            pool.writeByte(12);
+            pool.writeShort(nameIndex);
+            pool.writeShort(descriptorIndex);
+            int nameAndType = add("N" + key);
+            pool.writeByte(tag);
+            pool.writeShort(ownerIndex);
+            pool.writeShort(nameAndType);
+            index = add(key);
+        }
+        return index;
+    }
+
+    private int add(String key) {
+        int index = poolSize++;
+        constants.put(key, index);
+        return index;
+    }
+}
@@ -0,0 +1,11 @@
+package e005_adapter_generator;
+
+/**
+ * Makes adapters of one generated class. Each adapter wraps one target and
+ * implements the interface by calling the target directly.
+ */
+public interface AdapterFactory<I, T> {
+    I adapt(T target);
+
+    Class<? extends I> adapterClass();
+}
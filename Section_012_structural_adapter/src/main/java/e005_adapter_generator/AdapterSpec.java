@@ -0,0 +1,252 @@
+package e005_adapter_generator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Describes an object adapter - which interface method calls which target method -
+ * and generates a real class for it at runtime.
+ *
+ *     AdapterFactory<Duck, Turkey> turkeys = AdapterSpec.of(Duck.class, Turkey.class)
+ *             .map("quack", "gobble")
+ *             .generate();
+ *     Duck duck = turkeys.adapt(new WildTurkey());
+ *
+ * Interface methods that are not mapped call the target method with the same name.
+ * When the interface inherits one method with several return types, the target is
+ * matched against the most specific one, and the others get bridges that call it.
+ * Target methods are matched on name and parameter types, and the generated method
+ * calls them with a plain invokevirtual/invokeinterface on a final field, which the
+ * JIT inlines like a hand-written adapter. There is no reflection per call.
+ *
+ * On Java 15 and later the class is a hidden class, which is unloaded again when its
+ * factory and adapters are no longer used. Older runtimes get a small class loader
+ * per generated class instead.
+ */
+public final class AdapterSpec<I, T> {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final AtomicInteger COUNT = new AtomicInteger();
+
+    private final Class<I> interfaceType;
+    private final Class<T> targetType;
+    private final Map<String, String> mapping = new LinkedHashMap<>();
+
+    private AdapterSpec(Class<I> interfaceType, Class<T> targetType) {
+        if (!interfaceType.isInterface()) {
+            throw new IllegalArgumentException(interfaceType.getName() + " is not an interface");
+        }
+        checkPublic(interfaceType);
+        checkPublic(targetType);
+        this.interfaceType = interfaceType;
+        this.targetType = targetType;
+    }
+
+    public static <I, T> AdapterSpec<I, T> of(Class<I> interfaceType, Class<T> targetType) {
+        return new AdapterSpec<>(interfaceType, targetType);
+    }
+
+    // every interface method with this name calls the target method with the other name
+    public AdapterSpec<I, T> map(String interfaceMethod, String targetMethod) {
+        mapping.put(interfaceMethod, targetMethod);
+        return this;
+    }
+
+    public AdapterFactory<I, T> generate() {
+        List<Method[]> methods = new ArrayList<>();
+        List<Method[]> bridges = new ArrayList<>();
+        resolve(methods, bridges);
+        String name = AdapterSpec.class.getPackage().getName().replace('.', '/')
+                + "/" + interfaceType.getSimpleName() + "Adapter$" + COUNT.incrementAndGet();
+        byte[] bytes = new AdapterClassWriter(name, interfaceType, targetType).write(methods, bridges);
+
+        try {
+            MethodHandles.Lookup lookup = define(bytes);
+            MethodHandle constructor = lookup.findConstructor(lookup.lookupClass(),
+                    MethodType.methodType(void.class, targetType))
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            Class<? extends I> adapterClass = lookup.lookupClass().asSubclass(interfaceType);
+            return new GeneratedFactory<>(interfaceType, targetType, adapterClass, constructor);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot define adapter " + name, e);
+        }
+    }
+
+    /*
+     * Pairs every abstract interface method (and every mapped default one) with its target
+     * method, and every covariant variant of one of them with the variant it bridges to.
+     */
+    private void resolve(List<Method[]> methods, List<Method[]> bridges) {
+        // the interface methods by name and parameter types, one per return type
+        Map<String, List<Method>> variants = new LinkedHashMap<>();
+        for (Method method : interfaceType.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || isObjectMethod(method)) {
+                continue;
+            }
+            List<Method> sameSignature = variants.computeIfAbsent(
+                    method.getName() + Arrays.toString(method.getParameterTypes()), key -> new ArrayList<>());
+            if (sameSignature.stream().noneMatch(m -> m.getReturnType() == method.getReturnType())) {
+                sameSignature.add(method);
+            }
+        }
+        for (List<Method> sameSignature : variants.values()) {
+            Method method = mostSpecific(sameSignature);
+            String targetName = mapping.get(method.getName());
+            if (targetName != null || !method.isDefault()) {
+                methods.add(new Method[]{method, findTarget(method, targetName == null ? method.getName() : targetName)});
+            }
+            for (Method variant : sameSignature) {
+                if (variant != method) {
+                    bridges.add(new Method[]{variant, method});
+                }
+            }
+        }
+        for (String mapped : mapping.keySet()) {
+            boolean found = false;
+            for (Method[] pair : methods) {
+                found |= pair[0].getName().equals(mapped);
+            }
+            if (!found) {
+                throw new IllegalArgumentException(interfaceType.getName() + " has no method " + mapped);
+            }
+        }
+    }
+
+    // the variant whose return type every other variant's return type can hold
+    private Method mostSpecific(List<Method> sameSignature) {
+        for (Method candidate : sameSignature) {
+            boolean fitsAll = true;
+            for (Method other : sameSignature) {
+                fitsAll &= other.getReturnType().isAssignableFrom(candidate.getReturnType());
+            }
+            if (fitsAll) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException(interfaceType.getName() + " inherits "
+                + sameSignature.get(0).getName() + " with return types that have no most specific one");
+    }
+
+    private Method findTarget(Method method, String targetName) {
+        Method target;
+        try {
+            target = targetType.getMethod(targetName, method.getParameterTypes());
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("No " + targetType.getName() + "." + targetName
+                    + Arrays.toString(method.getParameterTypes()) + " for " + method, e);
+        }
+        if (Modifier.isStatic(target.getModifiers())) {
+            throw new IllegalArgumentException(target + " is static");
+        }
+        Class<?> returns = method.getReturnType();
+        Class<?> targetReturns = target.getReturnType();
+        boolean compatible = returns == void.class || returns == targetReturns
+                || (!returns.isPrimitive() && !targetReturns.isPrimitive() && returns.isAssignableFrom(targetReturns));
+        if (!compatible) {
+            throw new IllegalArgumentException(target + " does not return a " + returns.getName() + " for " + method);
+        }
+        return target;
+    }
+
+    private static boolean isObjectMethod(Method method) {
+        try {
+            Object.class.getMethod(method.getName(), method.getParameterTypes());
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static void checkPublic(Class<?> type) {
+        for (Class<?> c = type; c != null; c = c.getEnclosingClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) {
+                throw new IllegalArgumentException(type.getName() + " is not public");
+            }
+        }
+    }
+
+    private MethodHandles.Lookup define(byte[] bytes) throws ReflectiveOperationException {
+        Class<?> option;
+        try {
+            option = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+        } catch (ClassNotFoundException e) {
+            Class<?> adapterClass = new GeneratedClassLoader(loaderFor()).define(bytes);
+            return LOOKUP.in(adapterClass);
+        }
+        // looked up reflectively so that this still compiles and runs on Java 8
+        Object noOptions = Array.newInstance(option, 0);
+        Method defineHiddenClass = MethodHandles.Lookup.class.getMethod("defineHiddenClass",
+                byte[].class, boolean.class, noOptions.getClass());
+        return (MethodHandles.Lookup) defineHiddenClass.invoke(LOOKUP, bytes, true, noOptions);
+    }
+
+    // a class loader that can see both the interface and the target
+    private ClassLoader loaderFor() {
+        for (ClassLoader loader : new ClassLoader[]{targetType.getClassLoader(), interfaceType.getClassLoader()}) {
+            if (sees(loader, interfaceType) && sees(loader, targetType)) {
+                return loader;
+            }
+        }
+        throw new IllegalArgumentException("No class loader sees both "
+                + interfaceType.getName() + " and " + targetType.getName());
+    }
+
+    private static boolean sees(ClassLoader loader, Class<?> type) {
+        try {
+            return Class.forName(type.getName(), false, loader) == type;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static final class GeneratedClassLoader extends ClassLoader {
+        GeneratedClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(byte[] bytes) {
+            return defineClass(null, bytes, 0, bytes.length);
+        }
+    }
+
+    private static final class GeneratedFactory<I, T> implements AdapterFactory<I, T> {
+        private final Class<I> interfaceType;
+        private final Class<T> targetType;
+        private final Class<? extends I> adapterClass;
+        private final MethodHandle constructor;
+
+        GeneratedFactory(Class<I> interfaceType, Class<T> targetType,
+                         Class<? extends I> adapterClass, MethodHandle constructor) {
+            this.interfaceType = interfaceType;
+            this.targetType = targetType;
+            this.adapterClass = adapterClass;
+            this.constructor = constructor;
+        }
+
+        @Override
+        public I adapt(T target) {
+            try {
+                return interfaceType.cast(constructor.invokeExact((Object) targetType.cast(target)));
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public Class<? extends I> adapterClass() {
+            return adapterClass;
+        }
+    }
+}
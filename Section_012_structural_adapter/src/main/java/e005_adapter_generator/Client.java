@@ -0,0 +1,40 @@
+package e005_adapter_generator;
+
+import java.util.function.IntSupplier;
+
+import e001_adapter_composition1.Duck;
+import e001_adapter_composition1.Turkey;
+import e003_adapter_class_inheritance.IntegerValueInterface;
+
+public class Client {
+    public static void main(String[] args) {
+        // the TurkeyAdapter, without writing it
+        AdapterFactory<Duck, Turkey> turkeyAdapters = AdapterSpec.of(Duck.class, Turkey.class)
+                .map("quack", "gobble")
+                .generate();
+
+        Turkey turkey = new Turkey() {
+            @Override
+            public void gobble() {
+                System.out.println("Gobble gobble");
+            }
+
+            @Override
+            public void fly() {
+                System.out.println("I am flying a short distance");
+            }
+        };
+        Duck duck = turkeyAdapters.adapt(turkey);
+        System.out.println("The generated " + turkeyAdapters.adapterClass().getName() + " says");
+        duck.quack();
+        duck.fly();
+
+        // an object adapter from IntegerValueInterface to a JDK interface
+        AdapterFactory<IntSupplier, IntegerValueInterface> suppliers =
+                AdapterSpec.of(IntSupplier.class, IntegerValueInterface.class)
+                        .map("getAsInt", "getInteger")
+                        .generate();
+        IntSupplier five = suppliers.adapt(() -> 5);
+        System.out.println("\nThe generated IntSupplier is returning: " + five.getAsInt());
+    }
+}
@@ -0,0 +1,75 @@
+package e001_bridge;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Builds 1M vehicles one at a time, the way Vehicle.manufacture() does, and through
+ * a ProductionLine with the given number of workers per stage. Every workshop step
+ * burns a little CPU instead of printing. Scores are per vehicle.
+ *
+ * This class lives in the bridge's package because Workshop.work() is package-private.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ProductionLineBenchmark {
+
+    private static final int VEHICLES = 1_000_000;
+    private static final long STEP_TOKENS = 50;
+
+    @Param({"1", "2", "4"})
+    private int workers;
+
+    static class Step extends Workshop {
+        @Override
+        void work() {
+            Blackhole.consumeCPU(STEP_TOKENS);
+        }
+    }
+
+    private final Workshop produce = new Step();
+    private final Workshop assemble = new Step();
+
+    @Benchmark
+    @OperationsPerInvocation(VEHICLES)
+    public int sequential() {
+        int built = 0;
+        for (int i = 0; i < VEHICLES; i++) {
+            Vehicle vehicle = (i & 1) == 0 ? new Car(produce, assemble) : new Bike(produce, assemble);
+            vehicle.workshop1.work();
+            vehicle.workshop2.work();
+            built++;
+        }
+        return built;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VEHICLES)
+    public long productionLine() throws InterruptedException {
+        LongAdder built = new LongAdder();
+        ProductionLine line = new ProductionLine(1024, workers, workers, vehicle -> built.increment());
+        line.start();
+        for (int i = 0; i < VEHICLES; i++) {
+            line.submit((i & 1) == 0 ? new Car(produce, assemble) : new Bike(produce, assemble));
+        }
+        line.finish();
+        return built.sum();
+    }
+}
@@ -0,0 +1,87 @@
+package e002_challenge;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 10M drawShape() calls on a red rectangle and a green triangle, once with RedColor
+ * and GreenColor printing every fill and once through a BatchingColorRenderer.
+ *
+ * System.out is swapped for a stream to /dev/null that flushes every line, like the
+ * real standard output, and the renderer writes to /dev/null too. The shapes print
+ * their own line per call in both modes. Scores are per drawShape() call.
+ *
+ * This class lives in the shapes' package because drawShape() is package-private.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(2)
+@State(Scope.Benchmark)
+public class DrawShapeBenchmark {
+
+    private static final int CALLS = 10_000_000;
+
+    private PrintStream console;
+    private FileChannel devNull;
+    private Shape[] perCall;
+    private Shape[] batched;
+    private BatchingColorRenderer renderer;
+
+    @Setup
+    public void setUp() throws IOException {
+        console = System.out;
+        System.setOut(new PrintStream(new BufferedOutputStream(new FileOutputStream("/dev/null"), 128), true));
+        devNull = FileChannel.open(Paths.get("/dev/null"), StandardOpenOption.WRITE);
+
+        perCall = new Shape[]{new Rectangle(new RedColor()), new Triangle(new GreenColor())};
+        renderer = new BatchingColorRenderer(devNull, 8192);
+        batched = new Shape[]{new Rectangle(renderer.color("Red")), new Triangle(renderer.color("Green"))};
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        System.out.close();
+        System.setOut(console);
+        devNull.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public void perCall() {
+        draw(perCall);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public void batched() throws IOException {
+        draw(batched);
+        renderer.flush();
+    }
+
+    private static void draw(Shape[] shapes) {
+        for (int i = 0; i < CALLS; i++) {
+            shapes[i & 1].drawShape(i & 63);
+        }
+    }
+}
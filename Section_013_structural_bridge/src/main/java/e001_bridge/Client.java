@@ -1,12 +1,25 @@
 package e001_bridge;
 
 public class Client {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
         Vehicle vehicle1 = new Car(new Produce(), new Assemble());
         vehicle1.manufacture();
 
         Vehicle vehicle2 = new Bike(new Produce(), new Assemble());
         vehicle2.manufacture();
 
+        // the same workshops as a production line, with two workers per stage
+        System.out.println();
+        ProductionLine line = new ProductionLine(16, 2, 2, vehicle -> { });
+        line.start();
+        for (int i = 0; i < 3; i++) {
+            line.submit(new Car(new Produce(), new Assemble()));
+            line.submit(new Bike(new Produce(), new Assemble()));
+        }
+        line.finish();
+        for (StageStats stats : line.stats()) {
+            System.out.println(stats);
+        }
+
     }
 }
@@ -0,0 +1,215 @@
+package e001_bridge;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Manufactures vehicles the way Vehicle.manufacture() does - first workshop1, then
+ * workshop2 - but as a production line: the Produce and the Assemble stage each have
+ * their own workers and a bounded queue in front of them, so many vehicles are in
+ * the works at the same time.
+ *
+ *     ProductionLine line = new ProductionLine(1024, 2, 2, vehicle -> {});
+ *     line.start();
+ *     line.submit(new Car(new Produce(), new Assemble()));
+ *     line.finish();
+ *
+ * submit() blocks while the Produce queue is full. Finished vehicles are handed to the
+ * consumer by the Assemble workers. A vehicle whose workshop, or the consumer, throws is
+ * counted as failed and taken off the line.
+ */
+public class ProductionLine {
+
+    // put into a queue once per worker to tell it that no more vehicles will come
+    private static final Vehicle END = new Vehicle(null, null) {
+        @Override
+        void manufacture() {
+        }
+    };
+
+    private static final int BATCH_SIZE = 64;
+
+    private final Stage[] stages;
+    private final Consumer<Vehicle> finished;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+
+    public ProductionLine(int queueCapacity, int produceWorkers, int assembleWorkers, Consumer<Vehicle> finished) {
+        this.stages = new Stage[]{
+                new Stage("Produce", produceWorkers, queueCapacity, vehicle -> vehicle.workshop1),
+                new Stage("Assemble", assembleWorkers, queueCapacity, vehicle -> vehicle.workshop2)
+        };
+        this.finished = finished;
+    }
+
+    public void start() {
+        if (startedAt != 0) {
+            throw new IllegalStateException("Production line already started");
+        }
+        startedAt = System.nanoTime();
+        for (int i = 0; i < stages.length; i++) {
+            stages[i].start(i + 1 < stages.length ? stages[i + 1] : null);
+        }
+    }
+
+    public void submit(Vehicle vehicle) throws InterruptedException {
+        if (startedAt == 0) {
+            throw new IllegalStateException("Production line not started");
+        }
+        stages[0].queue.put(vehicle);
+    }
+
+    // lets every submitted vehicle through the line and stops the workers; call it after the last submit()
+    public void finish() throws InterruptedException {
+        stages[0].end();
+        for (Stage stage : stages) {
+            stage.done.await();
+        }
+        finishedAt = System.nanoTime();
+    }
+
+    public List<StageStats> stats() {
+        long end = finishedAt != 0 ? finishedAt : System.nanoTime();
+        long elapsed = startedAt == 0 ? 0 : end - startedAt;
+        List<StageStats> stats = new ArrayList<>(stages.length);
+        for (Stage stage : stages) {
+            stats.add(new StageStats(stage.name, stage.workers.length, stage.processed.sum(), stage.failed.sum(),
+                    stage.queue.size(), stage.busyNanos.sum(), elapsed));
+        }
+        return stats;
+    }
+
+    private class Stage {
+        final String name;
+        final BlockingQueue<Vehicle> queue;
+        final Function<Vehicle, Workshop> workshop;
+        final Thread[] workers;
+        final CountDownLatch done;
+        final AtomicInteger running;
+        final LongAdder processed = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder busyNanos = new LongAdder();
+
+        Stage(String name, int workers, int queueCapacity, Function<Vehicle, Workshop> workshop) {
+            if (workers < 1) {
+                throw new IllegalArgumentException(name + " needs at least one worker");
+            }
+            this.name = name;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.workshop = workshop;
+            this.workers = new Thread[workers];
+            this.done = new CountDownLatch(workers);
+            this.running = new AtomicInteger(workers);
+        }
+
+        void start(Stage next) {
+            for (int i = 0; i < workers.length; i++) {
+                workers[i] = new Thread(() -> work(next), name + "-" + (i + 1));
+                workers[i].setDaemon(true);
+                workers[i].start();
+            }
+        }
+
+        void end() throws InterruptedException {
+            for (int i = 0; i < workers.length; i++) {
+                queue.put(END);
+            }
+        }
+
+        private void work(Stage next) {
+            // vehicles are taken off the queue in batches, so a busy line is not woken up per vehicle
+            List<Vehicle> batch = new ArrayList<>(BATCH_SIZE);
+            boolean interrupted = false;
+            // ENDs taken off the queue, counted before any vehicle of their batch is worked on
+            int ends = 0;
+            try {
+                while (ends == 0) {
+                    batch.add(queue.take());
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                    for (Vehicle vehicle : batch) {
+                        if (vehicle == END) {
+                            ends++;
+                        }
+                    }
+                    for (Vehicle vehicle : batch) {
+                        if (vehicle != END) {
+                            manufacture(vehicle, next);
+                        }
+                    }
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            } finally {
+                // every other worker of this stage needs an END of its own, even if this one leaves
+                // because of an Error halfway through the batch that held them
+                for (int i = 1; i < ends; i++) {
+                    interrupted |= putUninterruptibly(END);
+                }
+                // the last worker out closes the next stage
+                if (running.decrementAndGet() == 0 && next != null) {
+                    interrupted |= next.endUninterruptibly();
+                }
+                done.countDown();
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        // returns whether the thread was interrupted on the way
+        private boolean endUninterruptibly() {
+            boolean interrupted = false;
+            for (int i = 0; i < workers.length; i++) {
+                interrupted |= putUninterruptibly(END);
+            }
+            return interrupted;
+        }
+
+        // returns whether the thread was interrupted on the way
+        private boolean putUninterruptibly(Vehicle vehicle) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    queue.put(vehicle);
+                    return interrupted;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+
+        private void manufacture(Vehicle vehicle, Stage next) throws InterruptedException {
+            long begin = System.nanoTime();
+            boolean worked = attempt(() -> workshop.apply(vehicle).work());
+            busyNanos.add(System.nanoTime() - begin);
+            if (!worked) {
+                return;
+            }
+            if (next != null) {
+                processed.increment();
+                next.queue.put(vehicle);
+            } else if (attempt(() -> finished.accept(vehicle))) {
+                processed.increment();
+            }
+        }
+
+        // a vehicle that makes a workshop or the consumer throw is counted as failed, and the worker carries on
+        private boolean attempt(Runnable step) {
+            try {
+                step.run();
+                return true;
+            } catch (RuntimeException e) {
+                failed.increment();
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package e001_bridge;
+
+/**
+ * A snapshot of one ProductionLine stage.
+ */
+public final class StageStats {
+    private final String name;
+    private final int workers;
+    private final long processed;
+    private final long failed;
+    private final int queueDepth;
+    private final double throughput;
+    private final double utilization;
+
+    StageStats(String name, int workers, long processed, long failed, int queueDepth,
+               long busyNanos, long elapsedNanos) {
+        this.name = name;
+        this.workers = workers;
+        this.processed = processed;
+        this.failed = failed;
+        this.queueDepth = queueDepth;
+        this.throughput = elapsedNanos == 0 ? 0 : processed * 1e9 / elapsedNanos;
+        this.utilization = elapsedNanos == 0 ? 0 : (double) busyNanos / ((double) workers * elapsedNanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    // vehicles this stage has finished working on
+    public long getProcessed() {
+        return processed;
+    }
+
+    // vehicles dropped because the workshop threw
+    public long getFailed() {
+        return failed;
+    }
+
+    // vehicles waiting in front of this stage
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    // vehicles per second since the line was started
+    public double getThroughput() {
+        return throughput;
+    }
+
+    // share of the workers' time spent in the workshop, from 0 to 1
+    public double getUtilization() {
+        return utilization;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d workers, %d processed, %d failed, %d queued, %.0f/s, %.0f%% busy",
+                name, workers, processed, failed, queueDepth, throughput, utilization * 100);
+    }
+}
@@ -0,0 +1,132 @@
+package e002_challenge;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A ColorInterface backend that does not write anything per fill.
+ *
+ * Fills from all of its colors are recorded in two preallocated arrays. When they are
+ * full, or on flush(), the fills are written out color by color - all the red ones,
+ * then all the green ones - as the same lines RedColor and GreenColor print, encoded
+ * straight into one byte buffer and handed to the channel in large writes.
+ *
+ *     BatchingColorRenderer renderer = new BatchingColorRenderer(out, 8192);
+ *     Shape triangle = new Triangle(renderer.color("Green"));
+ *     ...
+ *     renderer.flush();
+ *
+ * The order of fills is kept within a color, not across colors. Not thread safe.
+ */
+public class BatchingColorRenderer implements Flushable {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final byte[] SUFFIX = " inch border\n".getBytes(StandardCharsets.UTF_8);
+
+    private final WritableByteChannel out;
+    private final List<String> names = new ArrayList<>();
+    private final List<byte[]> prefixes = new ArrayList<>();
+    private final int[] colors;
+    private final int[] borders;
+    private int size;
+    private final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+
+    public BatchingColorRenderer(WritableByteChannel out, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.out = out;
+        this.colors = new int[capacity];
+        this.borders = new int[capacity];
+    }
+
+    public BatchingColorRenderer(OutputStream out, int capacity) {
+        this(Channels.newChannel(out), capacity);
+    }
+
+    // a color that fills through this renderer, e.g. color("Red") for the RedColor lines
+    public ColorInterface color(String name) {
+        int known = names.indexOf(name);
+        if (known >= 0) {
+            return border -> fill(known, border);
+        }
+        byte[] prefix = (name + " color with ").getBytes(StandardCharsets.UTF_8);
+        if (prefix.length + 11 + SUFFIX.length > WRITE_BUFFER_SIZE) {
+            throw new IllegalArgumentException("Color name too long");
+        }
+        int color = prefixes.size();
+        names.add(name);
+        prefixes.add(prefix);
+        return border -> fill(color, border);
+    }
+
+    private void fill(int color, int border) {
+        if (size == colors.length) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        colors[size] = color;
+        borders[size] = border;
+        size++;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        for (int color = 0; color < prefixes.size(); color++) {
+            byte[] prefix = prefixes.get(color);
+            // prefix, an int of up to 11 characters and the suffix
+            int longestLine = prefix.length + 11 + SUFFIX.length;
+            for (int i = 0; i < size; i++) {
+                if (colors[i] == color) {
+                    if (buffer.remaining() < longestLine) {
+                        write();
+                    }
+                    buffer.put(prefix);
+                    putInt(borders[i]);
+                    buffer.put(SUFFIX);
+                }
+            }
+        }
+        size = 0;
+        write();
+    }
+
+    private void write() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void putInt(int value) {
+        long v = value;
+        if (v < 0) {
+            buffer.put((byte) '-');
+            v = -v;
+        }
+        int start = buffer.position();
+        do {
+            buffer.put((byte) ('0' + v % 10));
+            v /= 10;
+        } while (v != 0);
+        // the digits went in backwards
+        byte[] array = buffer.array();
+        for (int i = start, j = buffer.position() - 1; i < j; i++, j--) {
+            byte digit = array[i];
+            array[i] = array[j];
+            array[j] = digit;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package e002_challenge;
 
+import java.io.IOException;
+
 public class Client {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         System.out.println("**Bridge Pattern**");
 
         // Coloring Green to Triangle
@@ -18,5 +20,13 @@ public class Client {
         rectangleShape.drawShape(50);
         rectangleShape.modifyBorder(50, 3);
 
+        // the same shapes with their fills batched and written out by color
+        System.out.println("\nBatched coloring");
+        BatchingColorRenderer renderer = new BatchingColorRenderer(System.out, 1024);
+        new Triangle(renderer.color("Green")).drawShape(20);
+        new Rectangle(renderer.color("Red")).drawShape(50);
+        new Triangle(renderer.color("Green")).drawShape(-7);
+        renderer.flush();
+
     }
 }
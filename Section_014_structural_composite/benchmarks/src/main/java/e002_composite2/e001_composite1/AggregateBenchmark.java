@@ -0,0 +1,75 @@
+package e002_composite2.e001_composite1;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Total salary and headcount of a generated 500k people organization: read from the
+ * aggregates Manager keeps, and worked out by walking the whole tree the way it had
+ * to be done before. The update benchmark adds and removes one developer at the
+ * bottom of the tree, which moves the aggregates of every manager above.
+ *
+ * This class lives in the composite's package because Developer is package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class AggregateBenchmark {
+
+    private static final int PEOPLE = 500_000;
+
+    private Manager root;
+    private Manager deepest;
+    private final Developer newcomer = new Developer("Newcomer", -1, "Developer");
+
+    @Setup
+    public void setUp() {
+        root = OrgTrees.balanced(PEOPLE, 8);
+        deepest = OrgTrees.deepestManager(root);
+    }
+
+    @Benchmark
+    public double queryCached() {
+        return root.getTotalSalary() + root.getHeadcount();
+    }
+
+    @Benchmark
+    public double queryWalk() {
+        double[] totals = new double[2];
+        walk(root, totals);
+        return totals[0] + totals[1];
+    }
+
+    private static void walk(Manager manager, double[] totals) {
+        totals[0] += manager.getSalary();
+        totals[1]++;
+        for (int i = 0; i < manager.getChildCount(); i++) {
+            Employee employee = manager.getChild(i);
+            if (employee instanceof Manager) {
+                walk((Manager) employee, totals);
+            } else {
+                totals[1]++;
+            }
+        }
+    }
+
+    @Benchmark
+    public int addAndRemove() {
+        deepest.addEmployee(newcomer);
+        deepest.removeEmployee(newcomer);
+        return root.getHeadcount();
+    }
+}
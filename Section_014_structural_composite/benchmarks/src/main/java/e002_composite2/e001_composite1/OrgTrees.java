@@ -0,0 +1,67 @@
+package e002_composite2.e001_composite1;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * Generated organizations for the benchmarks.
+ */
+final class OrgTrees {
+
+    private OrgTrees() {
+    }
+
+    /**
+     * A tree of the given number of people, filled level by level: every manager gets
+     * fanout reports, and there are just enough managers for everyone, the rest being developers.
+     */
+    static Manager balanced(int people, int fanout) {
+        int managers = Math.max(1, (people - 1 + fanout - 1) / fanout);
+        Manager root = new Manager("Manager 0", 100_000);
+        Queue<Manager> open = new ArrayDeque<>();
+        open.add(root);
+        int created = 1;
+        int createdManagers = 1;
+        while (created < people) {
+            Manager manager = open.remove();
+            for (int i = 0; i < fanout && created < people; i++, created++) {
+                if (createdManagers < managers) {
+                    Manager report = new Manager("Manager " + createdManagers++, 50_000 + created % 1000);
+                    manager.addEmployee(report);
+                    open.add(report);
+                } else {
+                    manager.addEmployee(new Developer("Developer " + created, created, "Developer"));
+                }
+            }
+        }
+        return root;
+    }
+
+    // managers in one long line, each the only report of the one above
+    static Manager chain(int people) {
+        // built from the bottom up, so no add has anything above it to update
+        Manager boss = new Manager("Manager " + (people - 1), 50_000);
+        for (int i = people - 2; i >= 0; i--) {
+            Manager manager = new Manager("Manager " + i, 50_000 + i % 1000);
+            manager.addEmployee(boss);
+            boss = manager;
+        }
+        return boss;
+    }
+
+    // the manager that was added last, at the bottom of the tree
+    static Manager deepestManager(Manager root) {
+        Manager manager = root;
+        for (boolean found = true; found; ) {
+            found = false;
+            for (int i = manager.getChildCount() - 1; i >= 0; i--) {
+                if (manager.getChild(i) instanceof Manager) {
+                    manager = (Manager) manager.getChild(i);
+                    found = true;
+                    break;
+                }
+            }
+        }
+        return manager;
+    }
+}
@@ -0,0 +1,90 @@
+package e002_composite2.e001_composite1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Moves 100k developers, in random order, from one manager to another and back, then
+ * reads the first report of each. The Manager child store is compared with plain
+ * ArrayLists and remove(Object), which is how Manager kept its reports before.
+ * Scores are per move.
+ *
+ * This class lives in the composite's package because Developer is package-private.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ReorganizeBenchmark {
+
+    private static final int CHILDREN = 100_000;
+
+    private Employee[] developers;
+    private Employee[] moveOrder;
+
+    private final Manager from = new Manager("From", 100_000);
+    private final Manager to = new Manager("To", 100_000);
+    private final List<Employee> fromList = new ArrayList<>();
+    private final List<Employee> toList = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        developers = new Employee[CHILDREN];
+        for (int i = 0; i < CHILDREN; i++) {
+            developers[i] = new Developer("Developer " + i, i, "Developer");
+            from.addEmployee(developers[i]);
+            fromList.add(developers[i]);
+        }
+        List<Employee> shuffled = new ArrayList<>(Arrays.asList(developers));
+        Collections.shuffle(shuffled, new Random(42));
+        moveOrder = shuffled.toArray(new Employee[0]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * CHILDREN)
+    public Object childStore() {
+        for (Employee developer : moveOrder) {
+            from.removeEmployee(developer);
+            to.addEmployee(developer);
+        }
+        Object first = to.getChild(0);
+        for (Employee developer : moveOrder) {
+            to.removeEmployee(developer);
+            from.addEmployee(developer);
+        }
+        return first;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * CHILDREN)
+    public Object arrayList() {
+        for (Employee developer : moveOrder) {
+            fromList.remove(developer);
+            toList.add(developer);
+        }
+        Object first = toList.get(0);
+        for (Employee developer : moveOrder) {
+            toList.remove(developer);
+            fromList.add(developer);
+        }
+        return first;
+    }
+}
@@ -0,0 +1,99 @@
+package e002_composite2.e001_composite1;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads a 1M people organization (fanout 8) through the live Manager tree and through
+ * its frozen OrgSnapshot: the details of everyone - name and salary or employee id, what
+ * showEmployeeDetails() prints - and the total salary of one department of about 16k
+ * people. SnapshotFootprint compares the heap both take.
+ *
+ * This class lives in the composite's package because Developer is package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+
+    private static final int PEOPLE = 1_000_000;
+
+    private Manager live;
+    private Manager department;
+    private OrgSnapshot snapshot;
+    private int frozenDepartment;
+
+    @Setup
+    public void setUp() {
+        live = OrgTrees.balanced(PEOPLE, 8);
+        department = (Manager) ((Manager) live.getChild(0)).getChild(0);
+        snapshot = live.freeze();
+        // the first child of the first child
+        frozenDepartment = 2;
+        if (snapshot.getTotalSalary(frozenDepartment) != department.getTotalSalary()) {
+            throw new IllegalStateException("snapshot does not match the live tree");
+        }
+    }
+
+    @Benchmark
+    public long liveDetails() {
+        return details(live);
+    }
+
+    private static long details(Employee employee) {
+        if (employee instanceof Developer) {
+            Developer developer = (Developer) employee;
+            return developer.getName().length() + developer.getEmpId();
+        }
+        Manager manager = (Manager) employee;
+        long sum = manager.getName().length() + (long) manager.getSalary();
+        for (int i = 0; i < manager.getChildCount(); i++) {
+            sum += details(manager.getChild(i));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long snapshotDetails() {
+        long sum = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            sum += snapshot.getName(i).length()
+                    + (snapshot.isManager(i) ? (long) snapshot.getSalary(i) : snapshot.getEmpId(i));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double liveDepartmentSalary() {
+        return salary(department);
+    }
+
+    private static double salary(Manager manager) {
+        double total = manager.getSalary();
+        for (int i = 0; i < manager.getChildCount(); i++) {
+            Employee employee = manager.getChild(i);
+            if (employee instanceof Manager) {
+                total += salary((Manager) employee);
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double snapshotDepartmentSalary() {
+        return snapshot.getTotalSalary(frozenDepartment);
+    }
+}
@@ -0,0 +1,37 @@
+package e002_composite2.e001_composite1;
+
+/**
+ * Retained heap of a generated organization, live and frozen: builds the Manager tree
+ * and measures the used heap after a full GC, then freezes it, lets the live tree go
+ * and measures again. Run it with a fixed heap for stable numbers, e.g. -Xms3g -Xmx3g.
+ *
+ * Usage: java -cp target/benchmarks.jar e002_composite2.e001_composite1.SnapshotFootprint [people]
+ */
+public class SnapshotFootprint {
+
+    public static void main(String[] args) {
+        int people = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        long empty = usedHeap();
+        Manager live = OrgTrees.balanced(people, 8);
+        long liveBytes = usedHeap() - empty;
+
+        OrgSnapshot snapshot = live.freeze();
+        live = null;
+        long frozenBytes = usedHeap() - empty;
+
+        System.out.printf("live tree   %,8.1f bytes per person%n", liveBytes / (double) people);
+        System.out.printf("snapshot    %,8.1f bytes per person%n", frozenBytes / (double) people);
+        if (snapshot.size() != people || live != null) {
+            throw new IllegalStateException();
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
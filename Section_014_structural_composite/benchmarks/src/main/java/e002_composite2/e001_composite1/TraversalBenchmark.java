@@ -0,0 +1,103 @@
+package e002_composite2.e001_composite1;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import e004_parallel_traversal.ParallelTreeWalker;
+import e004_parallel_traversal.TreeShape;
+
+/**
+ * Sums the salaries of a 1M people organization, once as a balanced tree (fanout 8)
+ * and once as a chain of managers: with plain recursion, with ParallelTreeWalker on
+ * the calling thread and with ParallelTreeWalker on the fork/join pool.
+ *
+ * Recursion is only run on the balanced tree; on the chain it throws StackOverflowError.
+ *
+ * This class lives in the composite's package so that it can build trees of
+ * package-private Developers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class TraversalBenchmark {
+
+    private static final int PEOPLE = 1_000_000;
+
+    private static final TreeShape<Employee> MANAGERS = TreeShape.of(
+            e -> e instanceof Manager ? ((Manager) e).getChildCount() : 0,
+            (e, i) -> ((Manager) e).getChild(i),
+            Employee::getHeadcount);
+
+    // a plain sum, like the recursion, where summingDouble would add compensated summation
+    private static final Collector<Employee, double[], Double> SALARIES = Collector.of(
+            () -> new double[1],
+            (sum, e) -> sum[0] += e instanceof Manager ? ((Manager) e).getSalary() : 0,
+            (a, b) -> {
+                a[0] += b[0];
+                return a;
+            },
+            sum -> sum[0],
+            Collector.Characteristics.UNORDERED);
+
+    private final ParallelTreeWalker<Employee> walker = new ParallelTreeWalker<>(MANAGERS);
+    private Manager balanced;
+    private Manager chain;
+
+    @Setup
+    public void setUp() {
+        balanced = OrgTrees.balanced(PEOPLE, 8);
+        chain = OrgTrees.chain(PEOPLE);
+    }
+
+    @Benchmark
+    public double balancedRecursive() {
+        double[] sum = SALARIES.supplier().get();
+        recurse(balanced, sum);
+        return sum[0];
+    }
+
+    // visits every node with the same accumulator as the walker
+    private static void recurse(Employee employee, double[] sum) {
+        SALARIES.accumulator().accept(sum, employee);
+        if (employee instanceof Manager) {
+            Manager manager = (Manager) employee;
+            for (int i = 0; i < manager.getChildCount(); i++) {
+                recurse(manager.getChild(i), sum);
+            }
+        }
+    }
+
+    @Benchmark
+    public double balancedSequential() {
+        return walker.collectSequential(balanced, SALARIES);
+    }
+
+    @Benchmark
+    public double balancedParallel() {
+        return walker.collect(balanced, SALARIES);
+    }
+
+    @Benchmark
+    public double chainSequential() {
+        return walker.collectSequential(chain, SALARIES);
+    }
+
+    @Benchmark
+    public double chainParallel() {
+        return walker.collect(chain, SALARIES);
+    }
+}
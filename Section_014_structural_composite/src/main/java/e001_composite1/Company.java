@@ -21,6 +21,12 @@ public class Company {
         companyDirectory.addEmployee(accDirectory);
         companyDirectory.showEmployeeDetails();
 
+        System.out.println("\nHeadcount: " + companyDirectory.getHeadcount()
+                + ", engineering: " + engDirectory.getHeadcount()
+                + ", levels: " + companyDirectory.getDepth());
+        accDirectory.removeEmployee(man2);
+        System.out.println("After David left - headcount: " + companyDirectory.getHeadcount());
+
 
     }
 }
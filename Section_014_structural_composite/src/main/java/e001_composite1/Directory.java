@@ -1,23 +1,76 @@
 package e001_composite1;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import e005_child_store.ChildStore;
+import e005_child_store.SubtreeStats;
 
 public class Directory implements Employee {
-    private List<Employee> employeeList = new ArrayList<>();
+    private ChildStore<Employee> employeeList = new ChildStore<>();
+
+    // kept up to date by addEmployee/removeEmployee, here and in every directory above
+    private final SubtreeStats<Employee> stats = new SubtreeStats<>(this, employeeList,
+            emp -> emp instanceof Directory ? ((Directory) emp).stats : null, 0, 0);
 
     @Override
     public void showEmployeeDetails() {
-        for(Employee emp: employeeList){
-            emp.showEmployeeDetails();
+        // with a stack of its own instead of recursion, so deep directory trees cannot overflow
+        Deque<Employee> stack = new ArrayDeque<>();
+        pushReversed(stack);
+        while (!stack.isEmpty()) {
+            Employee emp = stack.pop();
+            if (emp instanceof Directory) {
+                ((Directory) emp).pushReversed(stack);
+            } else {
+                emp.showEmployeeDetails();
+            }
+        }
+    }
+
+    private void pushReversed(Deque<Employee> stack) {
+        for (int i = employeeList.size() - 1; i >= 0; i--) {
+            stack.push(employeeList.get(i));
         }
     }
 
     public void addEmployee(Employee emp){
-        employeeList.add(emp);
+        if (employeeList.contains(emp)) {
+            throw new IllegalArgumentException("Employee is already in this directory");
+        }
+        if (emp instanceof Directory) {
+            Directory directory = (Directory) emp;
+            if (directory.stats.getParent() != null) {
+                throw new IllegalArgumentException("Directory is already in another directory");
+            }
+            if (stats.isWithin(directory.stats)) {
+                throw new IllegalArgumentException("Directory cannot be added below itself");
+            }
+        }
+        stats.add(emp);
     }
 
     public void removeEmployee(Employee emp){
-        employeeList.remove(emp);
+        stats.remove(emp);
+    }
+
+    public Employee getChild(int i){
+        return employeeList.get(i);
+    }
+
+    public int getChildCount() {
+        return employeeList.size();
+    }
+
+    // employees in this directory and all directories below it
+    @Override
+    public int getHeadcount() {
+        return stats.getHeadcount();
+    }
+
+    // levels below this directory, 0 when it is empty
+    @Override
+    public int getDepth() {
+        return stats.getDepth();
     }
 }
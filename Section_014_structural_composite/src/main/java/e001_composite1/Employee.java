@@ -2,6 +2,16 @@ package e001_composite1;
 
 public interface Employee {
     void showEmployeeDetails();
+
+    // employees in this part of the tree
+    default int getHeadcount() {
+        return 1;
+    }
+
+    // levels below this part of the tree
+    default int getDepth() {
+        return 0;
+    }
 }
 
 class Developer implements Employee{
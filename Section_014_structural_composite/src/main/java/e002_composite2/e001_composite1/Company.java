@@ -17,6 +17,18 @@ public class Company {
 
         generalManager.showEmployeeDetails();
 
+        System.out.println("Headcount: " + generalManager.getHeadcount()
+                + ", total salary: " + generalManager.getTotalSalary()
+                + ", levels: " + generalManager.getDepth());
 
+        // a frozen copy prints the same and does not change with the live organization
+        OrgSnapshot snapshot = generalManager.freeze();
+        generalManager.removeEmployee(engManager);
+        System.out.println("Without Mike's team - headcount: " + generalManager.getHeadcount()
+                + ", total salary: " + generalManager.getTotalSalary()
+                + ", levels: " + generalManager.getDepth());
+
+        System.out.println("\nThe frozen organization, total salary " + snapshot.getTotalSalary(0));
+        snapshot.showEmployeeDetails();
     }
 }
@@ -2,6 +2,21 @@ package e002_composite2.e001_composite1;
 
 public interface Employee {
     void showEmployeeDetails();
+
+    // people in this part of the tree
+    default int getHeadcount() {
+        return 1;
+    }
+
+    // salaries in this part of the tree; developers have no salary on record
+    default double getTotalSalary() {
+        return 0;
+    }
+
+    // levels below this part of the tree
+    default int getDepth() {
+        return 0;
+    }
 }
 
 class Developer implements Employee {
@@ -20,4 +35,16 @@ class Developer implements Employee {
         System.out.println(empId + " - " + name + " - " + position);
     }
 
+    String getName() {
+        return name;
+    }
+
+    long getEmpId() {
+        return empId;
+    }
+
+    String getPosition() {
+        return position;
+    }
+
 }
@@ -1,42 +1,83 @@
 package e002_composite2.e001_composite1;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import e005_child_store.ChildStore;
+import e005_child_store.SubtreeStats;
 
 public class Manager implements Employee {
-    private List<Employee> employeeList = new ArrayList<>();
+    private ChildStore<Employee> employeeList = new ChildStore<>();
     private String name;
     private double salary;
 
+    // kept up to date by addEmployee/removeEmployee, here and in every manager above; the
+    // total is the salary in whole cents, so it stays exact however often the team changes
+    private final SubtreeStats<Employee> stats;
+
     public Manager(String name, double salary) {
         this.name = name;
         this.salary = salary;
+        this.stats = new SubtreeStats<>(this, employeeList,
+                emp -> emp instanceof Manager ? ((Manager) emp).stats : null, 1, Math.round(salary * 100));
     }
 
     @Override
     public void showEmployeeDetails() {
-        System.out.println("----------------");
-        System.out.println("Name: " + getName());
-        System.out.println("Salary: " + getSalary());
-        System.out.println("----------------");
-
-        for (Employee emp: employeeList){
-            emp.showEmployeeDetails();
+        // with a stack of its own instead of recursion, so deep hierarchies cannot overflow
+        Deque<Employee> stack = new ArrayDeque<>();
+        stack.push(this);
+        while (!stack.isEmpty()) {
+            Employee emp = stack.pop();
+            if (emp instanceof Manager) {
+                Manager manager = (Manager) emp;
+                System.out.println("----------------");
+                System.out.println("Name: " + manager.getName());
+                System.out.println("Salary: " + manager.getSalary());
+                System.out.println("----------------");
+                for (int i = manager.employeeList.size() - 1; i >= 0; i--) {
+                    stack.push(manager.employeeList.get(i));
+                }
+            } else {
+                emp.showEmployeeDetails();
+            }
         }
     }
 
     public void addEmployee(Employee emp){
-        employeeList.add(emp);
+        if (employeeList.contains(emp)) {
+            throw new IllegalArgumentException("Employee already reports to " + name);
+        }
+        if (emp instanceof Manager) {
+            Manager manager = (Manager) emp;
+            Manager parent = (Manager) manager.stats.getParent();
+            if (parent != null) {
+                throw new IllegalArgumentException(manager.getName() + " already reports to " + parent.getName());
+            }
+            if (stats.isWithin(manager.stats)) {
+                throw new IllegalArgumentException(manager.getName() + " cannot report to their own report");
+            }
+        }
+        stats.add(emp);
     }
 
     public void removeEmployee(Employee emp){
-        employeeList.remove(emp);
+        stats.remove(emp);
+    }
+
+    // an immutable, flat copy of this manager's organization, for reading it fast
+    public OrgSnapshot freeze() {
+        return OrgSnapshot.of(this);
     }
 
     public Employee getChild(int i){
         return employeeList.get(i);
     }
 
+    public int getChildCount() {
+        return employeeList.size();
+    }
+
     public String getName() {
         return name;
     }
@@ -44,4 +85,22 @@ public class Manager implements Employee {
     public double getSalary() {
         return salary;
     }
+
+    // this manager and everyone below
+    @Override
+    public int getHeadcount() {
+        return stats.getHeadcount();
+    }
+
+    // salary of this manager and everyone below, rounded to cents
+    @Override
+    public double getTotalSalary() {
+        return stats.getTotal() / 100.0;
+    }
+
+    // levels of reports below this manager, 0 without reports
+    @Override
+    public int getDepth() {
+        return stats.getDepth();
+    }
 }
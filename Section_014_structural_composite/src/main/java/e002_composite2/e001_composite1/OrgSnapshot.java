@@ -0,0 +1,147 @@
+package e002_composite2.e001_composite1;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import e004_parallel_traversal.TreeShape;
+import e006_flat_tree.FlatTreeBuilder;
+
+/**
+ * A frozen organization, made by Manager.freeze(). Person i is the i-th one
+ * showEmployeeDetails() would print, laid out by FlatTreeBuilder.
+ *
+ * Per person it keeps a type tag, the name and the position, and one long that is a
+ * developer's employee id or a manager's salary. That is enough to answer salary
+ * totals and print the organization without touching the live objects. Employees that
+ * are neither a Manager nor a Developer are kept as they are and print themselves.
+ */
+public final class OrgSnapshot {
+
+    private static final byte MANAGER = 0;
+    private static final byte DEVELOPER = 1;
+    private static final byte OTHER = 2;
+
+    private final int[] parent;
+    private final int[] end;
+    private final byte[] type;
+    // index into strings for managers and developers, into others for everyone else
+    private final int[] name;
+    private final int[] position;
+    // the employee id of a developer, the salary bits of a manager
+    private final long[] value;
+    private final String[] strings;
+    private final Employee[] others;
+
+    private OrgSnapshot(String[] strings, Employee[] others, int[] parent, int[] end,
+                        byte[] type, int[] name, int[] position, long[] value) {
+        this.parent = parent;
+        this.end = end;
+        this.type = type;
+        this.name = name;
+        this.position = position;
+        this.value = value;
+        this.strings = strings;
+        this.others = others;
+    }
+
+    private static final TreeShape<Employee> SHAPE = TreeShape.of(
+            e -> e instanceof Manager ? ((Manager) e).getChildCount() : 0,
+            (e, i) -> ((Manager) e).getChild(i),
+            Employee::getHeadcount);
+
+    static OrgSnapshot of(Manager root) {
+        FlatTreeBuilder<Employee> tree = new FlatTreeBuilder<>(SHAPE, root);
+        int size = tree.size();
+        byte[] type = new byte[size];
+        int[] name = new int[size];
+        int[] position = new int[size];
+        long[] value = new long[size];
+        List<Employee> others = new ArrayList<>();
+
+        tree.layOut((i, employee) -> {
+            position[i] = -1;
+            if (employee instanceof Manager) {
+                Manager manager = (Manager) employee;
+                type[i] = MANAGER;
+                name[i] = tree.intern(manager.getName());
+                value[i] = Double.doubleToRawLongBits(manager.getSalary());
+            } else if (employee instanceof Developer) {
+                Developer developer = (Developer) employee;
+                type[i] = DEVELOPER;
+                name[i] = tree.intern(developer.getName());
+                position[i] = tree.intern(developer.getPosition());
+                value[i] = developer.getEmpId();
+            } else {
+                type[i] = OTHER;
+                name[i] = others.size();
+                others.add(employee);
+            }
+        });
+        return new OrgSnapshot(tree.getStrings(), others.toArray(new Employee[0]),
+                tree.getParents(), tree.getSubtreeEnds(), type, name, position, value);
+    }
+
+    public int size() {
+        return type.length;
+    }
+
+    // -1 for the top manager
+    public int getParent(int i) {
+        return parent[i];
+    }
+
+    // everyone below person i is numbered from i + 1 up to, not including, this
+    public int getSubtreeEnd(int i) {
+        return end[i];
+    }
+
+    public boolean isManager(int i) {
+        return type[i] == MANAGER;
+    }
+
+    public String getName(int i) {
+        return type[i] == OTHER ? null : strings[name[i]];
+    }
+
+    public double getSalary(int i) {
+        return type[i] == MANAGER ? Double.longBitsToDouble(value[i]) : 0;
+    }
+
+    public long getEmpId(int i) {
+        return type[i] == DEVELOPER ? value[i] : 0;
+    }
+
+    // salaries of person i and everyone below
+    public double getTotalSalary(int i) {
+        double total = 0;
+        for (int j = i; j < end[i]; j++) {
+            if (type[j] == MANAGER) {
+                total += Double.longBitsToDouble(value[j]);
+            }
+        }
+        return total;
+    }
+
+    public void showEmployeeDetails() {
+        showEmployeeDetails(0);
+    }
+
+    // the same output as showEmployeeDetails() on the live person i
+    public void showEmployeeDetails(int i) {
+        for (int j = i; j < end[i]; j++) {
+            switch (type[j]) {
+                case MANAGER:
+                    System.out.println("----------------");
+                    System.out.println("Name: " + strings[name[j]]);
+                    System.out.println("Salary: " + Double.longBitsToDouble(value[j]));
+                    System.out.println("----------------");
+                    break;
+                case DEVELOPER:
+                    System.out.println(value[j] + " - " + strings[name[j]] + " - " + strings[position[j]]);
+                    break;
+                default:
+                    others[name[j]].showEmployeeDetails();
+            }
+        }
+    }
+}
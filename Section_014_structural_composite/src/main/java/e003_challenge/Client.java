@@ -45,6 +45,12 @@ public class Client {
             System.out.println("\t\t" + c.getDetails());
         }
 
+        System.out.println("\nThe college has " + techDean.getHeadcount() + " people on "
+                + (techDean.getDepth() + 1) + " levels, " + chairOfCSDept.getHeadcount() + " in CS");
+
+        // a frozen copy of the college, walked the same way
+        FacultySnapshot college = techDean.freeze();
+
         chairOfCSDept.remove(csProf2);
         System.out.println("\nAfter CSE Prof2 leaving the org - CSE dept had the following prof");
 
@@ -52,7 +58,18 @@ public class Client {
         for (Faculty c: csProf){
             System.out.println("\t\t" + c.getDetails());
         }
+        System.out.println("The college has " + techDean.getHeadcount() + " people, "
+                + chairOfCSDept.getHeadcount() + " in CS");
 
 
+
+        System.out.println("\nThe frozen college still has everyone");
+        System.out.println(college.getDetails(0));
+        for (int chair : college.getFacultyList(0)) {
+            System.out.println("\t" + college.getDetails(chair));
+            for (int prof : college.getFacultyList(chair)) {
+                System.out.println("\t\t" + college.getDetails(prof));
+            }
+        }
     }
 }
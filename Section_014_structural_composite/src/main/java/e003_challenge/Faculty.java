@@ -2,6 +2,16 @@ package e003_challenge;
 
 public interface Faculty {
     String getDetails();
+
+    // people in this part of the college
+    default int getHeadcount() {
+        return 1;
+    }
+
+    // levels below this part of the college
+    default int getDepth() {
+        return 0;
+    }
 }
 
 class Professor implements Faculty{
@@ -19,6 +29,18 @@ class Professor implements Faculty{
     public String getDetails() {
         return (mName + " is the "+ mPosition);
     }
+
+    String getName() {
+        return mName;
+    }
+
+    String getPosition() {
+        return mPosition;
+    }
+
+    int getOfficeNum() {
+        return mOfficeNum;
+    }
 }
 
 
@@ -0,0 +1,125 @@
+package e003_challenge;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import e004_parallel_traversal.TreeShape;
+import e006_flat_tree.FlatTreeBuilder;
+
+/**
+ * A frozen part of the college, made by Supervisor.freeze(), for answering
+ * getDetails() and "who reports to whom" without the live objects.
+ *
+ * Member i keeps a type tag, a name, a position - the department, for a supervisor -
+ * and an office number, which supervisors do not have. The members directly below i
+ * come from hopping over whole subtrees: i + 1, then the end of that one's subtree,
+ * and so on. Faculty of any other class is kept as it is and describes itself.
+ */
+public final class FacultySnapshot {
+
+    private static final byte SUPERVISOR = 0;
+    private static final byte PROFESSOR = 1;
+    private static final byte OTHER = 2;
+
+    private final int[] parent;
+    private final int[] end;
+    private final byte[] type;
+    // index into strings for supervisors and professors, into others for everyone else
+    private final int[] name;
+    private final int[] position;
+    private final int[] office;
+    private final String[] strings;
+    private final Faculty[] others;
+
+    private FacultySnapshot(String[] strings, Faculty[] others, int[] parent, int[] end,
+                            byte[] type, int[] name, int[] position, int[] office) {
+        this.parent = parent;
+        this.end = end;
+        this.type = type;
+        this.name = name;
+        this.position = position;
+        this.office = office;
+        this.strings = strings;
+        this.others = others;
+    }
+
+    private static final TreeShape<Faculty> SHAPE = TreeShape.of(
+            f -> f instanceof Supervisor ? ((Supervisor) f).getMyFacultyList().size() : 0,
+            (f, i) -> ((Supervisor) f).getMyFacultyList().get(i),
+            Faculty::getHeadcount);
+
+    static FacultySnapshot of(Supervisor root) {
+        FlatTreeBuilder<Faculty> tree = new FlatTreeBuilder<>(SHAPE, root);
+        int size = tree.size();
+        byte[] type = new byte[size];
+        int[] name = new int[size];
+        int[] position = new int[size];
+        int[] office = new int[size];
+        List<Faculty> others = new ArrayList<>();
+
+        tree.layOut((i, faculty) -> {
+            if (faculty instanceof Supervisor) {
+                Supervisor supervisor = (Supervisor) faculty;
+                type[i] = SUPERVISOR;
+                name[i] = tree.intern(supervisor.getName());
+                position[i] = tree.intern(supervisor.getDeptName());
+            } else if (faculty instanceof Professor) {
+                Professor professor = (Professor) faculty;
+                type[i] = PROFESSOR;
+                name[i] = tree.intern(professor.getName());
+                position[i] = tree.intern(professor.getPosition());
+                office[i] = professor.getOfficeNum();
+            } else {
+                type[i] = OTHER;
+                name[i] = others.size();
+                others.add(faculty);
+            }
+        });
+        return new FacultySnapshot(tree.getStrings(), others.toArray(new Faculty[0]),
+                tree.getParents(), tree.getSubtreeEnds(), type, name, position, office);
+    }
+
+    public int size() {
+        return type.length;
+    }
+
+    // -1 for the top supervisor
+    public int getParent(int i) {
+        return parent[i];
+    }
+
+    // everyone below member i is numbered from i + 1 up to, not including, this
+    public int getSubtreeEnd(int i) {
+        return end[i];
+    }
+
+    public boolean isSupervisor(int i) {
+        return type[i] == SUPERVISOR;
+    }
+
+    // the faculty directly below member i, like getMyFacultyList() on a supervisor
+    public int[] getFacultyList(int i) {
+        int count = 0;
+        for (int c = i + 1; c < end[i]; c = end[c]) {
+            count++;
+        }
+        int[] children = new int[count];
+        for (int c = i + 1, k = 0; c < end[i]; c = end[c], k++) {
+            children[k] = c;
+        }
+        return children;
+    }
+
+    // the same text as getDetails() on the live member i
+    public String getDetails(int i) {
+        if (type[i] == OTHER) {
+            return others[name[i]].getDetails();
+        }
+        return strings[name[i]] + " is the " + strings[position[i]];
+    }
+
+    // 0 for supervisors
+    public int getOfficeNum(int i) {
+        return office[i];
+    }
+}
@@ -1,35 +1,81 @@
 package e003_challenge;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import e005_child_store.ChildStore;
+import e005_child_store.SubtreeStats;
+
 public class Supervisor implements Faculty {
     private String name;
     private String deptName;
 
-    private List<Faculty> myFacultyList;
+    private ChildStore<Faculty> myFacultyList;
+
+    // kept up to date by add/remove, here and in every supervisor above
+    private final SubtreeStats<Faculty> stats;
 
     public Supervisor(String name, String deptName) {
         this.name = name;
         this.deptName = deptName;
-        this.myFacultyList = new ArrayList<>();
+        this.myFacultyList = new ChildStore<>();
+        this.stats = new SubtreeStats<>(this, myFacultyList,
+                faculty -> faculty instanceof Supervisor ? ((Supervisor) faculty).stats : null, 1, 0);
     }
 
     public void add (Faculty professor){
-        myFacultyList.add(professor);
+        if (myFacultyList.contains(professor)) {
+            throw new IllegalArgumentException("Faculty member already reports to " + name);
+        }
+        if (professor instanceof Supervisor) {
+            Supervisor supervisor = (Supervisor) professor;
+            if (supervisor.stats.getParent() != null) {
+                throw new IllegalArgumentException(supervisor.name + " already has a supervisor");
+            }
+            if (stats.isWithin(supervisor.stats)) {
+                throw new IllegalArgumentException(supervisor.name + " cannot supervise their own supervisor");
+            }
+        }
+        stats.add(professor);
     }
 
 
     public void remove (Faculty professor){
-        myFacultyList.remove(professor);
+        stats.remove(professor);
     }
 
+    // read only, changes go through add/remove so the headcounts stay right
     public List<Faculty> getMyFacultyList() {
-        return myFacultyList;
+        return Collections.unmodifiableList(myFacultyList);
     }
 
     @Override
     public String getDetails() {
         return (name + " is the " + deptName);
     }
+
+    // an immutable, flat copy of this supervisor's part of the college, for reading it fast
+    public FacultySnapshot freeze() {
+        return FacultySnapshot.of(this);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getDeptName() {
+        return deptName;
+    }
+
+    // this supervisor and all faculty below
+    @Override
+    public int getHeadcount() {
+        return stats.getHeadcount();
+    }
+
+    // levels of faculty below this supervisor, 0 without any
+    @Override
+    public int getDepth() {
+        return stats.getDepth();
+    }
 }
@@ -0,0 +1,66 @@
+package e004_parallel_traversal;
+
+import java.util.stream.Collectors;
+
+import e001_composite1.Directory;
+import e002_composite2.e001_composite1.Employee;
+import e002_composite2.e001_composite1.Manager;
+import e003_challenge.Faculty;
+import e003_challenge.Supervisor;
+
+public class Client {
+
+    static final TreeShape<e001_composite1.Employee> DIRECTORIES = TreeShape.of(
+            e -> e instanceof Directory ? ((Directory) e).getChildCount() : 0,
+            (e, i) -> ((Directory) e).getChild(i),
+            e001_composite1.Employee::getHeadcount);
+
+    static final TreeShape<Employee> MANAGERS = TreeShape.of(
+            e -> e instanceof Manager ? ((Manager) e).getChildCount() : 0,
+            (e, i) -> ((Manager) e).getChild(i),
+            Employee::getHeadcount);
+
+    static final TreeShape<Faculty> SUPERVISORS = TreeShape.of(
+            f -> f instanceof Supervisor ? ((Supervisor) f).getMyFacultyList().size() : 0,
+            (f, i) -> ((Supervisor) f).getMyFacultyList().get(i),
+            Faculty::getHeadcount);
+
+    public static void main(String[] args) {
+        // a company of 200 departments with 500 developers each
+        Directory company = new Directory();
+        for (int d = 0; d < 200; d++) {
+            Directory department = new Directory();
+            for (int e = 0; e < 500; e++) {
+                int id = d * 500 + e;
+                department.addEmployee(() -> System.out.println("Developer " + id));
+            }
+            company.addEmployee(department);
+        }
+        long directories = new ParallelTreeWalker<>(DIRECTORIES)
+                .collect(company, Collectors.summingLong(e -> e instanceof Directory ? 1 : 0));
+        System.out.println("The company has " + directories + " directories");
+
+        // a chain of command 100,000 managers long, far too deep to walk recursively
+        Manager boss = new Manager("Manager 0", 1000);
+        for (int i = 1; i < 100_000; i++) {
+            Manager manager = new Manager("Manager " + i, 1000);
+            manager.addEmployee(boss);
+            boss = manager;
+        }
+        double salaries = new ParallelTreeWalker<>(MANAGERS)
+                .collect(boss, Collectors.summingDouble(e -> e instanceof Manager ? ((Manager) e).getSalary() : 0));
+        System.out.println("The chain of command earns " + salaries + ", kept up to date: " + boss.getTotalSalary());
+
+        Supervisor dean = new Supervisor("Mike", "Dean of Tech");
+        for (int c = 0; c < 10; c++) {
+            Supervisor chair = new Supervisor("Chair " + c, "Chair of Dept " + c);
+            for (int p = 0; p < 30; p++) {
+                String name = "Prof " + c + "." + p;
+                chair.add(() -> name + " is the Professor");
+            }
+            dean.add(chair);
+        }
+        long faculty = new ParallelTreeWalker<>(SUPERVISORS).collectSequential(dean, Collectors.counting());
+        System.out.println("The college has " + faculty + " faculty members");
+    }
+}
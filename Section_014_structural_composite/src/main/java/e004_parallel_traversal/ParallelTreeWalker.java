@@ -0,0 +1,133 @@
+package e004_parallel_traversal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+
+/**
+ * Visits every node of a composite and collects a result, on the fork/join pool.
+ *
+ *     double salaries = walker.collect(boss,
+ *             Collectors.summingDouble(e -> e instanceof Manager ? ((Manager) e).getSalary() : 0));
+ *
+ * The collector sees every node once, so it has to take what belongs to that node
+ * alone: summing getTotalSalary() would add each subtree again at every ancestor.
+ *
+ * Every task walks its part of the tree with an explicit stack, so even a tree that
+ * is one long chain cannot overflow the call stack. Where a node has more than one
+ * big child - at least threshold nodes - the task keeps the biggest child for itself
+ * and forks a task for each of the others. A forked subtree is at most half the size
+ * of the one it was split from, so tasks never nest deeper than log2 of the tree size,
+ * and a chain is simply walked by one task.
+ *
+ * Nodes are visited in no particular order; collect() needs a collector whose
+ * combiner does not care about that, like a sum or a count.
+ */
+public class ParallelTreeWalker<N> {
+
+    public static final int DEFAULT_THRESHOLD = 8192;
+
+    private final TreeShape<N> shape;
+    private final int threshold;
+    private final ForkJoinPool pool;
+
+    public ParallelTreeWalker(TreeShape<N> shape) {
+        this(shape, DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    public ParallelTreeWalker(TreeShape<N> shape, int threshold, ForkJoinPool pool) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive: " + threshold);
+        }
+        this.shape = shape;
+        this.threshold = threshold;
+        this.pool = pool;
+    }
+
+    public <A, R> R collect(N root, Collector<? super N, A, R> collector) {
+        A result = pool.invoke(new WalkTask<>(root, collector));
+        return collector.finisher().apply(result);
+    }
+
+    // the same walk on the calling thread only
+    public <A, R> R collectSequential(N root, Collector<? super N, A, R> collector) {
+        A container = collector.supplier().get();
+        walk(root, collector, container, null);
+        return collector.finisher().apply(container);
+    }
+
+    /**
+     * Walks the subtree with an explicit stack of the nodes whose children are still to
+     * be visited. Every node is visited when it is first seen, so leaves never go on the
+     * stack. With forks != null every big child that is not the biggest child of its
+     * parent is handed out as a new task instead.
+     */
+    private <A> void walk(N root, Collector<? super N, A, ?> collector, A container, List<WalkTask<A>> forks) {
+        BiConsumer<A, ? super N> accumulator = collector.accumulator();
+        Deque<N> stack = new ArrayDeque<>();
+        accumulator.accept(container, root);
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            N node = stack.pop();
+            N biggest = null;
+            int biggestSize = -1;
+            int children = shape.childCount(node);
+            for (int i = 0; i < children; i++) {
+                N child = shape.child(node, i);
+                int size = forks == null ? 0 : shape.size(child);
+                if (size < threshold) {
+                    accumulator.accept(container, child);
+                    if (shape.childCount(child) > 0) {
+                        stack.push(child);
+                    }
+                } else if (size > biggestSize) {
+                    if (biggest != null) {
+                        forks.add(fork(biggest, collector));
+                    }
+                    biggest = child;
+                    biggestSize = size;
+                } else {
+                    forks.add(fork(child, collector));
+                }
+            }
+            if (biggest != null) {
+                accumulator.accept(container, biggest);
+                stack.push(biggest);
+            }
+        }
+    }
+
+    private <A> WalkTask<A> fork(N node, Collector<? super N, A, ?> collector) {
+        WalkTask<A> task = new WalkTask<>(node, collector);
+        task.fork();
+        return task;
+    }
+
+    private class WalkTask<A> extends RecursiveTask<A> {
+        private static final long serialVersionUID = 1L;
+
+        private final N root;
+        private final Collector<? super N, A, ?> collector;
+
+        WalkTask(N root, Collector<? super N, A, ?> collector) {
+            this.root = root;
+            this.collector = collector;
+        }
+
+        @Override
+        protected A compute() {
+            A container = collector.supplier().get();
+            List<WalkTask<A>> forks = new ArrayList<>();
+            walk(root, collector, container, forks);
+            for (WalkTask<A> task : forks) {
+                container = collector.combiner().apply(container, task.join());
+            }
+            return container;
+        }
+    }
+}
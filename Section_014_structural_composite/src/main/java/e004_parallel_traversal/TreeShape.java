@@ -0,0 +1,38 @@
+package e004_parallel_traversal;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * How to get around one kind of composite: its children and the size of a subtree.
+ * The size only has to be roughly right - the composites' headcounts do fine.
+ */
+public interface TreeShape<N> {
+    int childCount(N node);
+
+    N child(N node, int index);
+
+    int size(N node);
+
+    interface ChildAt<N> {
+        N child(N node, int index);
+    }
+
+    static <N> TreeShape<N> of(ToIntFunction<? super N> childCount, ChildAt<N> child, ToIntFunction<? super N> size) {
+        return new TreeShape<N>() {
+            @Override
+            public int childCount(N node) {
+                return childCount.applyAsInt(node);
+            }
+
+            @Override
+            public N child(N node, int index) {
+                return child.child(node, index);
+            }
+
+            @Override
+            public int size(N node) {
+                return size.applyAsInt(node);
+            }
+        };
+    }
+}
@@ -0,0 +1,202 @@
+package e005_child_store;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The children of a composite: a list in the order they were added, with an identity
+ * index from child to slot, so contains is O(1) and add and remove are O(log n).
+ *
+ * A removed child leaves an empty slot behind, and a Fenwick tree counts the children
+ * up to each slot, so get(i) and indexOf find their way past the gaps in O(log n), or
+ * O(1) when there are none. Only add and remove close the gaps, once there are more
+ * gaps than children. Reads never change the store, so like an ArrayList it can be
+ * read from many threads at once as long as nobody modifies it.
+ *
+ * Children are compared by identity and can be in the store only once.
+ */
+public final class ChildStore<E> extends AbstractList<E> {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private Object[] slots = new Object[0];
+    // counts[k] covers the slots (k - lowest bit of k, k], one based
+    private int[] counts = new int[1];
+    // slots in use, empty ones included
+    private int end;
+    private int size;
+    private final Map<Object, Integer> index = new IdentityHashMap<>();
+
+    // throws IllegalArgumentException if the child is already here
+    @Override
+    public boolean add(E child) {
+        if (child == null) {
+            throw new NullPointerException("child");
+        }
+        if (index.containsKey(child)) {
+            throw new IllegalArgumentException("Child is already in this store");
+        }
+        if (end == slots.length) {
+            if (size < end) {
+                compact();
+            } else {
+                slots = Arrays.copyOf(slots, Math.max(MIN_CAPACITY, 2 * slots.length));
+                rebuildCounts();
+            }
+        }
+        index.put(child, end);
+        slots[end] = child;
+        count(end++, 1);
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object child) {
+        Integer slot = index.remove(child);
+        if (slot == null) {
+            return false;
+        }
+        slots[slot] = null;
+        count(slot, -1);
+        size--;
+        modCount++;
+        while (end > 0 && slots[end - 1] == null) {
+            end--;
+        }
+        if (end > MIN_CAPACITY && size < end / 2) {
+            compact();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object child) {
+        return index.containsKey(child);
+    }
+
+    @Override
+    public int indexOf(Object child) {
+        Integer slot = index.get(child);
+        if (slot == null) {
+            return -1;
+        }
+        return size == end ? slot : childrenBefore(slot);
+    }
+
+    @Override
+    public int lastIndexOf(Object child) {
+        return indexOf(child);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+        }
+        return (E) slots[size == end ? i : slotOf(i)];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int slot = next(0);
+            private final int expectedModCount = modCount;
+
+            private int next(int from) {
+                while (from < end && slots[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return slot < end;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (slot >= end) {
+                    throw new NoSuchElementException();
+                }
+                E child = (E) slots[slot];
+                slot = next(slot + 1);
+                return child;
+            }
+        };
+    }
+
+    private void count(int slot, int delta) {
+        for (int k = slot + 1; k < counts.length; k += k & -k) {
+            counts[k] += delta;
+        }
+    }
+
+    private int childrenBefore(int slot) {
+        int children = 0;
+        for (int k = slot; k > 0; k -= k & -k) {
+            children += counts[k];
+        }
+        return children;
+    }
+
+    // the slot of the i-th child: walks down the tree, skipping every block that ends before it
+    private int slotOf(int i) {
+        int slot = 0;
+        int remaining = i + 1;
+        for (int step = Integer.highestOneBit(counts.length - 1); step > 0; step >>= 1) {
+            int k = slot + step;
+            if (k < counts.length && counts[k] < remaining) {
+                slot = k;
+                remaining -= counts[k];
+            }
+        }
+        return slot;
+    }
+
+    private void rebuildCounts() {
+        counts = new int[slots.length + 1];
+        for (int k = 1; k < counts.length; k++) {
+            counts[k] += slots[k - 1] != null ? 1 : 0;
+            int parent = k + (k & -k);
+            if (parent < counts.length) {
+                counts[parent] += counts[k];
+            }
+        }
+    }
+
+    // moves the children down over the empty slots, keeping their order
+    private void compact() {
+        int to = 0;
+        for (int from = 0; from < end; from++) {
+            Object child = slots[from];
+            if (child != null) {
+                if (to != from) {
+                    slots[to] = child;
+                    index.put(child, to);
+                }
+                to++;
+            }
+        }
+        Arrays.fill(slots, to, end, null);
+        end = to;
+        rebuildCounts();
+    }
+}
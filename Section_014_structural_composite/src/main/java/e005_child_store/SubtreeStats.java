@@ -0,0 +1,155 @@
+package e005_child_store;
+
+import java.util.function.Function;
+
+/**
+ * What a composite knows about its subtree - headcount, depth and one more total, such
+ * as salary - together with its place under the composite above it. add and remove
+ * keep it up to date here and in every composite above, as far as a change makes a
+ * difference there, so reading any of it is O(1).
+ *
+ * statsOf gives the stats of a child that is a composite itself, and null for a leaf.
+ * A leaf counts as one, with no levels below it and nothing towards the total.
+ */
+public final class SubtreeStats<E> {
+    private static final int NONE = -1;
+
+    private final E owner;
+    private final ChildStore<E> children;
+    private final Function<? super E, SubtreeStats<E>> statsOf;
+
+    private SubtreeStats<E> parent;
+    private int headcount;
+    private long total;
+    private int depth;
+    // how many children are as deep as the deepest one, so most removals need no rescan
+    private int deepestChildren;
+
+    // ownHeadcount and ownTotal are what the owner counts for itself, without any children
+    public SubtreeStats(E owner, ChildStore<E> children, Function<? super E, SubtreeStats<E>> statsOf,
+                        int ownHeadcount, long ownTotal) {
+        this.owner = owner;
+        this.children = children;
+        this.statsOf = statsOf;
+        this.headcount = ownHeadcount;
+        this.total = ownTotal;
+    }
+
+    // the composite this one is a child of, or null
+    public E getParent() {
+        return parent == null ? null : parent.owner;
+    }
+
+    // whether this composite is the other one or somewhere below it
+    public boolean isWithin(SubtreeStats<E> other) {
+        for (SubtreeStats<E> s = this; s != null; s = s.parent) {
+            if (s == other) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getHeadcount() {
+        return headcount;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    // levels below this composite, 0 without children
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Adds a child that is not in any composite yet. The caller checks that first, as well
+     * as that a composite child is not this one or above it, to say so in its own words.
+     */
+    public void add(E child) {
+        SubtreeStats<E> stats = statsOf.apply(child);
+        if (stats != null) {
+            if (stats.parent != null || isWithin(stats)) {
+                throw new IllegalArgumentException("Child is already in a tree, or would close a cycle");
+            }
+            stats.parent = this;
+        }
+        children.add(child);
+        childChanged(headcountOf(stats), totalOf(stats), NONE, depthOf(stats));
+    }
+
+    // returns whether the child was here
+    public boolean remove(E child) {
+        if (!children.remove(child)) {
+            return false;
+        }
+        SubtreeStats<E> stats = statsOf.apply(child);
+        if (stats != null) {
+            stats.parent = null;
+        }
+        childChanged(-headcountOf(stats), -totalOf(stats), depthOf(stats), NONE);
+        return true;
+    }
+
+    private static int headcountOf(SubtreeStats<?> stats) {
+        return stats == null ? 1 : stats.headcount;
+    }
+
+    private static long totalOf(SubtreeStats<?> stats) {
+        return stats == null ? 0 : stats.total;
+    }
+
+    private static int depthOf(SubtreeStats<?> stats) {
+        return stats == null ? 0 : stats.depth;
+    }
+
+    // applies a change of one child here and in the composites above, as far as it makes a difference
+    private void childChanged(int headcountDelta, long totalDelta, int oldChildDepth, int newChildDepth) {
+        for (SubtreeStats<E> stats = this; stats != null; stats = stats.parent) {
+            int oldDepth = stats.depth;
+            stats.headcount += headcountDelta;
+            stats.total += totalDelta;
+            if (oldChildDepth != newChildDepth) {
+                stats.countChildDepth(newChildDepth, 1);
+                stats.countChildDepth(oldChildDepth, -1);
+            }
+            if (headcountDelta == 0 && totalDelta == 0 && stats.depth == oldDepth) {
+                return;
+            }
+            oldChildDepth = oldDepth;
+            newChildDepth = stats.depth;
+        }
+    }
+
+    // counts a child that now has childDepth (delta 1) or no longer has it (delta -1)
+    private void countChildDepth(int childDepth, int delta) {
+        if (childDepth == NONE) {
+            return;
+        }
+        if (delta > 0 && childDepth + 1 > depth) {
+            depth = childDepth + 1;
+            deepestChildren = 1;
+        } else if (childDepth + 1 == depth) {
+            deepestChildren += delta;
+            if (deepestChildren == 0) {
+                recountDepth();
+            }
+        }
+    }
+
+    // the deepest child is gone, so look at what is left
+    private void recountDepth() {
+        depth = 0;
+        deepestChildren = 0;
+        for (E child : children) {
+            int childDepth = depthOf(statsOf.apply(child)) + 1;
+            if (childDepth > depth) {
+                depth = childDepth;
+                deepestChildren = 1;
+            } else if (childDepth == depth) {
+                deepestChildren++;
+            }
+        }
+    }
+}
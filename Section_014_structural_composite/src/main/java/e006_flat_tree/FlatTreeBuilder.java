@@ -0,0 +1,97 @@
+package e006_flat_tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import e004_parallel_traversal.TreeShape;
+
+/**
+ * Lays a composite out flat, for the frozen snapshots of e002 and e003.
+ *
+ * layOut numbers the nodes in pre-order, the order the composites print themselves in,
+ * and records each node's parent and the end of its subtree. The caller fills its own
+ * columns from the callback. intern turns repeated strings - names, positions,
+ * departments - into indexes into one table, so each distinct string is stored once.
+ */
+public final class FlatTreeBuilder<N> {
+
+    public interface Column<N> {
+        void set(int i, N node);
+    }
+
+    private final TreeShape<N> shape;
+    private final N root;
+    private final int size;
+    private final int[] parent;
+    private final int[] end;
+    private final Map<String, Integer> stringIndex = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+
+    // the shape's size has to be exact here, as it sets the subtree ends
+    public FlatTreeBuilder(TreeShape<N> shape, N root) {
+        this.shape = shape;
+        this.root = root;
+        this.size = shape.size(root);
+        this.parent = new int[size];
+        this.end = new int[size];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Numbers the nodes and hands each one to the column, so the caller can fill
+     * arrays of size() with whatever else it keeps per node.
+     */
+    public void layOut(Column<N> column) {
+        // an explicit stack: a chain of thousands of nodes would overflow recursion
+        Deque<N> stack = new ArrayDeque<>();
+        Deque<Integer> parents = new ArrayDeque<>();
+        stack.push(root);
+        parents.push(-1);
+        int i = 0;
+        for (; !stack.isEmpty(); i++) {
+            N node = stack.pop();
+            if (i == size) {
+                throw new IllegalStateException("The tree has more than its size of " + size + " nodes");
+            }
+            parent[i] = parents.pop();
+            end[i] = i + shape.size(node);
+            column.set(i, node);
+            for (int c = shape.childCount(node) - 1; c >= 0; c--) {
+                stack.push(shape.child(node, c));
+                parents.push(i);
+            }
+        }
+        if (i != size) {
+            throw new IllegalStateException("The tree has " + i + " nodes, not its size of " + size);
+        }
+    }
+
+    public int[] getParents() {
+        return parent;
+    }
+
+    public int[] getSubtreeEnds() {
+        return end;
+    }
+
+    public int intern(String s) {
+        Integer i = stringIndex.get(s);
+        if (i == null) {
+            i = strings.size();
+            stringIndex.put(s, i);
+            strings.add(s);
+        }
+        return i;
+    }
+
+    public String[] getStrings() {
+        return strings.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,105 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import main.java.e000_decorator.AbstractDecorator;
+import main.java.e000_decorator.Component;
+import main.java.e000_decorator.DecoratorChain;
+
+/**
+ * doJob latency through a chain of decorators linked with setTheComponent, and through
+ * the same chain flattened by DecoratorChain. The chain cycles through three decorator
+ * classes, as a real stack mixes types, and every hook does a little work.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class DecoratorChainBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int depth;
+
+    private final Job job = new Job();
+    private Component nested;
+    private DecoratorChain flat;
+
+    static final class Job extends Component {
+        long count;
+
+        @Override
+        public void doJob() {
+            count++;
+        }
+    }
+
+    static final class Before extends AbstractDecorator {
+        long count;
+
+        @Override
+        protected void before() {
+            count++;
+        }
+    }
+
+    static final class After extends AbstractDecorator {
+        long count;
+
+        @Override
+        protected void after() {
+            count++;
+        }
+    }
+
+    static final class Around extends AbstractDecorator {
+        long count;
+
+        @Override
+        protected void before() {
+            count++;
+        }
+
+        @Override
+        protected void after() {
+            count--;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        Component top = job;
+        for (int i = 0; i < depth; i++) {
+            AbstractDecorator decorator = i % 3 == 0 ? new Before() : i % 3 == 1 ? new After() : new Around();
+            decorator.setTheComponent(top);
+            top = decorator;
+        }
+        nested = top;
+        flat = DecoratorChain.flatten(top);
+    }
+
+    @Benchmark
+    public long nested() {
+        nested.doJob();
+        return job.count;
+    }
+
+    @Benchmark
+    public long flat() {
+        flat.doJob();
+        return job.count;
+    }
+}
@@ -0,0 +1,146 @@
+package benchmark;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import main.java.e001_composite.FastLowerCaseInputStream;
+import main.java.e001_composite.LowerCaseChannel;
+import main.java.e001_composite.LowerCaseInputStream;
+
+/**
+ * Lowercases a 1 GB local file of mixed case ASCII text with LowerCaseInputStream,
+ * FastLowerCaseInputStream and LowerCaseChannel. plainRead reads the file with no
+ * decorator and is the ceiling for the others.
+ *
+ * One operation is one MB, so the scores are MB/s.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class LowerCaseBenchmark {
+
+    private static final int MEGABYTES = 1024;
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private Path file;
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+    private final ByteBuffer directChunk = ByteBuffer.allocateDirect(CHUNK_SIZE);
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("text", ".log");
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789 .,:\n";
+        byte[] block = new byte[1024 * 1024];
+        Random random = new Random(42);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (int i = 0; i < MEGABYTES; i++) {
+                for (int j = 0; j < block.length; j++) {
+                    block[j] = (byte) alphabet.charAt(random.nextInt(alphabet.length()));
+                }
+                out.write(block);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEGABYTES)
+    public int plainRead() throws IOException {
+        try (InputStream in = new FileInputStream(file.toFile())) {
+            return drain(in);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEGABYTES)
+    public int lowerCaseInputStream() throws IOException {
+        try (InputStream in = new LowerCaseInputStream(new FileInputStream(file.toFile()))) {
+            return drain(in);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEGABYTES)
+    public int fastLowerCaseInputStream() throws IOException {
+        try (InputStream in = new FastLowerCaseInputStream(new FileInputStream(file.toFile()))) {
+            return drain(in);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEGABYTES)
+    public long fastTransferToStream() throws IOException {
+        try (FastLowerCaseInputStream in = new FastLowerCaseInputStream(new FileInputStream(file.toFile()))) {
+            return in.transferTo(new OutputStream() {
+                @Override
+                public void write(int b) {
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEGABYTES)
+    public long fastTransferToFile() throws IOException {
+        try (FastLowerCaseInputStream in = new FastLowerCaseInputStream(new FileInputStream(file.toFile()));
+             FileOutputStream out = new FileOutputStream("/dev/null")) {
+            return in.transferTo(out);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEGABYTES)
+    public int channel() throws IOException {
+        try (LowerCaseChannel channel = new LowerCaseChannel(FileChannel.open(file, StandardOpenOption.READ))) {
+            int last = 0;
+            while (channel.read(directChunk) != -1) {
+                last += directChunk.get(0);
+                directChunk.clear();
+            }
+            return last;
+        }
+    }
+
+    private int drain(InputStream in) throws IOException {
+        int last = 0;
+        int read;
+        while ((read = in.read(chunk, 0, chunk.length)) != -1) {
+            last += chunk[read - 1];
+        }
+        return last;
+    }
+}
@@ -0,0 +1,123 @@
+package benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import main.java.e001_composite.LowerCase;
+import main.java.e003_byte_pipeline.ByteMap;
+import main.java.e003_byte_pipeline.BytePipeline;
+import main.java.e003_byte_pipeline.ByteTransform;
+import main.java.e003_byte_pipeline.ByteTransformInputStream;
+import main.java.e003_byte_pipeline.DropByte;
+import main.java.e003_byte_pipeline.SqueezeSpaces;
+
+/**
+ * Runs 64 MB of log text through an 8-deep decorator stack, one ByteTransformInputStream
+ * per transform, and through the same transforms fused by BytePipeline. The text is in
+ * memory, so only the decorators are measured.
+ *
+ * maps is eight per-byte maps, which fuse into one table. mixed swaps two of them for
+ * stateful stages (drop '\r', squeeze spaces), which leaves four fused stages.
+ *
+ * One operation is one MB, so the scores are MB/s.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PipelineBenchmark {
+
+    private static final int MEGABYTES = 64;
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private byte[] log;
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+
+    @Setup
+    public void setUp() {
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789    \t.,:=\r\n";
+        log = new byte[MEGABYTES * 1024 * 1024];
+        Random random = new Random(42);
+        for (int i = 0; i < log.length; i++) {
+            log[i] = (byte) alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+    }
+
+    private static ByteTransform[] maps() {
+        return new ByteTransform[]{
+                ByteMap.of(LowerCase.ASCII::toLowerCase),
+                ByteMap.replace('\t', ' '),
+                ByteMap.of(c -> c >= '0' && c <= '9' ? '#' : c),
+                ByteMap.replace('=', ':'),
+                ByteMap.of(c -> c < ' ' && c != '\n' && c != '\r' ? '?' : c),
+                ByteMap.replace(',', ' '),
+                ByteMap.of(c -> c >= 0x80 ? '?' : c),
+                ByteMap.replace('.', '_')
+        };
+    }
+
+    private static ByteTransform[] mixed() {
+        ByteTransform[] stages = maps();
+        stages[3] = new DropByte('\r');
+        stages[6] = new SqueezeSpaces();
+        return stages;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEGABYTES)
+    public int stackedMaps() throws IOException {
+        return drain(stack(maps()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEGABYTES)
+    public int fusedMaps() throws IOException {
+        return drain(BytePipeline.of(maps()).decorate(new ByteArrayInputStream(log)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEGABYTES)
+    public int stackedMixed() throws IOException {
+        return drain(stack(mixed()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEGABYTES)
+    public int fusedMixed() throws IOException {
+        return drain(BytePipeline.of(mixed()).decorate(new ByteArrayInputStream(log)));
+    }
+
+    private InputStream stack(ByteTransform[] stages) {
+        InputStream in = new ByteArrayInputStream(log);
+        for (ByteTransform stage : stages) {
+            in = new ByteTransformInputStream(in, stage);
+        }
+        return in;
+    }
+
+    private int drain(InputStream in) throws IOException {
+        int last = 0;
+        int read;
+        while ((read = in.read(chunk, 0, chunk.length)) != -1) {
+            last += chunk[read - 1];
+        }
+        return last;
+    }
+}
@@ -9,26 +9,37 @@ public abstract class AbstractDecorator extends Component{
 
     @Override
     public void doJob() {
+        before();
         if(com != null){
             com.doJob();
         }
+        after();
+    }
+
+    // what this decorator adds around the wrapped job; DecoratorChain calls these directly
+    protected void before() {
+    }
+
+    protected void after() {
     }
 }
 
 class ConcreteDecorator1 extends AbstractDecorator {
     @Override
-    public void doJob() {
-        super.doJob();
+    protected void after() {
         System.out.println("I am explicitly from Example_1");
     }
 }
 
 class ConcreteDecorator2 extends AbstractDecorator {
     @Override
-    public void doJob() {
+    protected void before() {
         System.out.println("");
         System.out.println("**Start Ex-2**");
-        super.doJob();
+    }
+
+    @Override
+    protected void after() {
         System.out.println("Explicitly from Example_2");
         System.out.println("** End, Ex_2**");
     }
@@ -12,5 +12,14 @@ public class Client {
 
         cd2.setTheComponent(cd1);
         cd2.doJob();
+
+        // the same chain, run from a flat array of hooks
+        DecoratorChain chain = DecoratorChain.flatten(cd2);
+        chain.doJob();
+
+        // and changed in place: drop Example_1, then wrap everything in another Example_2
+        chain.remove(cd1);
+        chain.addOutermost(new ConcreteDecorator2());
+        chain.doJob();
     }
 }
@@ -0,0 +1,197 @@
+package main.java.e000_decorator;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A decorator chain kept as a flat array. doJob runs every before() from the outermost
+ * decorator in, then the wrapped component, then every after() back out. It is one
+ * loop each way, not one nested doJob call per level.
+ *
+ * Decorators that leave a hook empty are not called for it at all. Decorators that
+ * override doJob have no hooks to call, so they cannot be part of a chain.
+ *
+ * Decorators can be added or removed while the chain is in use. A change splices the
+ * one decorator into new copies of the arrays, so a doJob already running still sees
+ * the old chain.
+ */
+public class DecoratorChain extends Component {
+    private static final int BEFORE = 1;
+    private static final int AFTER = 2;
+    private static final int DO_JOB = 4;
+
+    // which of the three methods each decorator class overrides, found once per class
+    private static final ClassValue<Integer> OVERRIDES = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            int flags = 0;
+            for (Class<?> c = type; c != AbstractDecorator.class; c = c.getSuperclass()) {
+                for (Method method : c.getDeclaredMethods()) {
+                    if (method.getParameterCount() == 0) {
+                        switch (method.getName()) {
+                            case "before": flags |= BEFORE; break;
+                            case "after": flags |= AFTER; break;
+                            case "doJob": flags |= DO_JOB; break;
+                            default: break;
+                        }
+                    }
+                }
+            }
+            return flags;
+        }
+    };
+
+    private final Component core;
+    private volatile Hooks hooks;
+
+    // the chain, outermost first; befores in the same order, afters innermost first
+    private static final class Hooks {
+        final AbstractDecorator[] decorators;
+        final AbstractDecorator[] befores;
+        final AbstractDecorator[] afters;
+
+        Hooks(AbstractDecorator[] decorators, AbstractDecorator[] befores, AbstractDecorator[] afters) {
+            this.decorators = decorators;
+            this.befores = befores;
+            this.afters = afters;
+        }
+    }
+
+    public DecoratorChain(Component core, AbstractDecorator... decorators) {
+        this.core = core;
+        List<AbstractDecorator> befores = new ArrayList<>();
+        List<AbstractDecorator> afters = new ArrayList<>();
+        for (AbstractDecorator decorator : decorators) {
+            int flags = hooksOf(decorator);
+            if ((flags & BEFORE) != 0) {
+                befores.add(decorator);
+            }
+            if ((flags & AFTER) != 0) {
+                afters.add(decorator);
+            }
+        }
+        AbstractDecorator[] afterArray = new AbstractDecorator[afters.size()];
+        for (int i = 0; i < afterArray.length; i++) {
+            afterArray[i] = afters.get(afterArray.length - 1 - i);
+        }
+        this.hooks = new Hooks(decorators.clone(), befores.toArray(new AbstractDecorator[0]), afterArray);
+    }
+
+    /**
+     * Flattens the chain built with setTheComponent below top. It stops at the first
+     * component that is not a decorator, or whose decorator overrides doJob itself,
+     * and wraps that component as is.
+     */
+    public static DecoratorChain flatten(Component top) {
+        List<AbstractDecorator> decorators = new ArrayList<>();
+        Component c = top;
+        while (c instanceof AbstractDecorator && (OVERRIDES.get(c.getClass()) & DO_JOB) == 0) {
+            decorators.add((AbstractDecorator) c);
+            c = ((AbstractDecorator) c).com;
+        }
+        return new DecoratorChain(c, decorators.toArray(new AbstractDecorator[0]));
+    }
+
+    private static int hooksOf(AbstractDecorator decorator) {
+        int flags = OVERRIDES.get(decorator.getClass());
+        if ((flags & DO_JOB) != 0) {
+            throw new IllegalArgumentException(decorator.getClass().getName()
+                    + " overrides doJob, so it has no before/after hooks to run in a chain");
+        }
+        return flags;
+    }
+
+    @Override
+    public void doJob() {
+        Hooks current = hooks;
+        for (AbstractDecorator decorator : current.befores) {
+            decorator.before();
+        }
+        if (core != null) {
+            core.doJob();
+        }
+        for (AbstractDecorator decorator : current.afters) {
+            decorator.after();
+        }
+    }
+
+    public int getDepth() {
+        return hooks.decorators.length;
+    }
+
+    /**
+     * Adds a decorator at the given depth, where 0 is the outermost.
+     */
+    public synchronized void add(int depth, AbstractDecorator decorator) {
+        int flags = hooksOf(decorator);
+        Hooks current = hooks;
+        AbstractDecorator[] chain = current.decorators;
+        if (depth < 0 || depth > chain.length) {
+            throw new IndexOutOfBoundsException("Depth " + depth + " of a chain of " + chain.length);
+        }
+        AbstractDecorator[] befores = current.befores;
+        AbstractDecorator[] afters = current.afters;
+        if ((flags & BEFORE) != 0) {
+            befores = insert(befores, countHooks(chain, 0, depth, BEFORE), decorator);
+        }
+        if ((flags & AFTER) != 0) {
+            afters = insert(afters, countHooks(chain, depth, chain.length, AFTER), decorator);
+        }
+        hooks = new Hooks(insert(chain, depth, decorator), befores, afters);
+    }
+
+    public void addOutermost(AbstractDecorator decorator) {
+        add(0, decorator);
+    }
+
+    /**
+     * Removes the decorator, if it is in the chain, and returns whether it was.
+     */
+    public synchronized boolean remove(AbstractDecorator decorator) {
+        Hooks current = hooks;
+        AbstractDecorator[] chain = current.decorators;
+        for (int i = 0; i < chain.length; i++) {
+            if (chain[i] == decorator) {
+                int flags = OVERRIDES.get(decorator.getClass());
+                AbstractDecorator[] befores = current.befores;
+                AbstractDecorator[] afters = current.afters;
+                if ((flags & BEFORE) != 0) {
+                    befores = delete(befores, countHooks(chain, 0, i, BEFORE));
+                }
+                if ((flags & AFTER) != 0) {
+                    afters = delete(afters, countHooks(chain, i + 1, chain.length, AFTER));
+                }
+                hooks = new Hooks(delete(chain, i), befores, afters);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // how many of chain[from, to) override the hook; that is the index into its hook array
+    private static int countHooks(AbstractDecorator[] chain, int from, int to, int hook) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if ((OVERRIDES.get(chain[i].getClass()) & hook) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static AbstractDecorator[] insert(AbstractDecorator[] array, int index, AbstractDecorator decorator) {
+        AbstractDecorator[] next = new AbstractDecorator[array.length + 1];
+        System.arraycopy(array, 0, next, 0, index);
+        next[index] = decorator;
+        System.arraycopy(array, index, next, index + 1, array.length - index);
+        return next;
+    }
+
+    private static AbstractDecorator[] delete(AbstractDecorator[] array, int index) {
+        AbstractDecorator[] next = new AbstractDecorator[array.length - 1];
+        System.arraycopy(array, 0, next, 0, index);
+        System.arraycopy(array, index + 1, next, index, array.length - index - 1);
+        return next;
+    }
+}
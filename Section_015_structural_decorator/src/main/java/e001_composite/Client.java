@@ -1,8 +1,11 @@
 package main.java.e001_composite;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 
 public class Client {
     public static void main(String[] args) {
@@ -18,5 +21,29 @@ public class Client {
         } catch (IOException e){
             e.printStackTrace();
         }
+        System.out.println();
+
+        // the same text through the table based decorator, in one bulk copy
+        try(FastLowerCaseInputStream in = new FastLowerCaseInputStream(new ByteArrayInputStream(bytes))){
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            in.transferTo(out);
+            System.out.println(out.toString());
+        } catch (IOException e){
+            e.printStackTrace();
+        }
+
+        // and through a channel into a direct buffer
+        try(LowerCaseChannel channel = new LowerCaseChannel(Channels.newChannel(new ByteArrayInputStream(bytes)))){
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+            while(buffer.hasRemaining() && channel.read(buffer) >= 0){
+            }
+            buffer.flip();
+            while(buffer.hasRemaining()){
+                System.out.print((char)buffer.get());
+            }
+            System.out.println();
+        } catch (IOException e){
+            e.printStackTrace();
+        }
     }
 }
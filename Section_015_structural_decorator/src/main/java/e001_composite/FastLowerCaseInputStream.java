@@ -0,0 +1,62 @@
+package main.java.e001_composite;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * LowerCaseInputStream for single byte text. Each byte is lowered with a 256 entry
+ * table instead of Character.toLowerCase.
+ *
+ * transferTo copies through one reused buffer. When both ends are files it uses
+ * LowerCaseChannel on their channels and a direct buffer instead.
+ */
+public class FastLowerCaseInputStream extends FilterInputStream {
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final LowerCase lowerCase;
+
+    public FastLowerCaseInputStream(InputStream in) {
+        this(in, LowerCase.ASCII);
+    }
+
+    public FastLowerCaseInputStream(InputStream in, LowerCase lowerCase) {
+        super(in);
+        this.lowerCase = lowerCase;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int c = in.read();
+        return c == -1 ? c : lowerCase.toLowerCase(c);
+    }
+
+    @Override
+    public int read(byte[] b, int offset, int len) throws IOException {
+        int result = in.read(b, offset, len);
+        if (result > 0) {
+            lowerCase.toLowerCase(b, offset, result);
+        }
+        return result;
+    }
+
+    // overrides InputStream.transferTo on Java 9 and later
+    public long transferTo(OutputStream out) throws IOException {
+        if (in instanceof FileInputStream && out instanceof FileOutputStream) {
+            LowerCaseChannel channel = new LowerCaseChannel(((FileInputStream) in).getChannel(), lowerCase);
+            return channel.transferTo(((FileOutputStream) out).getChannel());
+        }
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long transferred = 0;
+        int read;
+        while ((read = in.read(buffer, 0, buffer.length)) != -1) {
+            lowerCase.toLowerCase(buffer, 0, read);
+            out.write(buffer, 0, read);
+            transferred += read;
+        }
+        return transferred;
+    }
+}
@@ -0,0 +1,73 @@
+package main.java.e001_composite;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Byte level lowercasing shared by FastLowerCaseInputStream and LowerCaseChannel.
+ *
+ * The bytes are treated as single byte characters, so there is no per-byte trip
+ * through Character.toLowerCase. ASCII only touches A-Z and is safe on UTF-8 text.
+ * LATIN_1 also lowers the accented capitals in 0xC0-0xDE, which would corrupt UTF-8.
+ */
+public enum LowerCase {
+    ASCII(false),
+    LATIN_1(true);
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    private final byte[] table = new byte[256];
+    private final boolean latin1;
+
+    LowerCase(boolean latin1) {
+        this.latin1 = latin1;
+        for (int c = 0; c < 256; c++) {
+            boolean upper = (c >= 'A' && c <= 'Z') || (latin1 && c >= 0xC0 && c <= 0xDE && c != 0xD7);
+            table[c] = (byte) (upper ? c + 0x20 : c);
+        }
+    }
+
+    public int toLowerCase(int c) {
+        return table[c & 0xFF] & 0xFF;
+    }
+
+    public void toLowerCase(byte[] b, int offset, int len) {
+        byte[] table = this.table;
+        for (int i = offset, end = offset + len; i < end; i++) {
+            b[i] = table[b[i] & 0xFF];
+        }
+    }
+
+    /**
+     * Lowers bytes [from, to) of the buffer in place, without moving its position.
+     * ASCII goes eight bytes at a time, which suits direct buffers.
+     */
+    public void toLowerCase(ByteBuffer buffer, int from, int to) {
+        int i = from;
+        if (!latin1) {
+            for (; i + Long.BYTES <= to; i += Long.BYTES) {
+                long word = buffer.getLong(i);
+                long lowered = lowerAscii(word);
+                if (lowered != word) {
+                    buffer.putLong(i, lowered);
+                }
+            }
+        }
+        for (; i < to; i++) {
+            byte c = buffer.get(i);
+            byte lowered = table[c & 0xFF];
+            if (lowered != c) {
+                buffer.put(i, lowered);
+            }
+        }
+    }
+
+    // sets bit 5 in every byte that holds A-Z; byte order does not matter
+    static long lowerAscii(long word) {
+        long low7 = word & ~HIGH_BITS;
+        long atLeastA = low7 + ONES * (0x80 - 'A');
+        long aboveZ = low7 + ONES * (0x80 - 'Z' - 1);
+        long upper = atLeastA & ~aboveZ & ~word & HIGH_BITS;
+        return word | (upper >>> 2);
+    }
+}
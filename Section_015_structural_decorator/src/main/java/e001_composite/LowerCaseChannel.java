@@ -0,0 +1,60 @@
+package main.java.e001_composite;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * The channel form of FastLowerCaseInputStream. Bytes are lowered in the caller's
+ * buffer right after they are read, so a direct buffer never gets copied to the heap.
+ */
+public class LowerCaseChannel implements ReadableByteChannel {
+    private final ReadableByteChannel channel;
+    private final LowerCase lowerCase;
+
+    public LowerCaseChannel(ReadableByteChannel channel) {
+        this(channel, LowerCase.ASCII);
+    }
+
+    public LowerCaseChannel(ReadableByteChannel channel, LowerCase lowerCase) {
+        this.channel = channel;
+        this.lowerCase = lowerCase;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        int start = dst.position();
+        int result = channel.read(dst);
+        if (result > 0) {
+            lowerCase.toLowerCase(dst, start, start + result);
+        }
+        return result;
+    }
+
+    /**
+     * Copies everything left in this channel to out through one direct buffer.
+     */
+    public long transferTo(WritableByteChannel out) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(FastLowerCaseInputStream.BUFFER_SIZE);
+        long transferred = 0;
+        while (read(buffer) != -1) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                transferred += out.write(buffer);
+            }
+            buffer.clear();
+        }
+        return transferred;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
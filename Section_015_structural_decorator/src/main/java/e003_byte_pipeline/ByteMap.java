@@ -0,0 +1,54 @@
+package main.java.e003_byte_pipeline;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A stateless stage that maps every byte to exactly one byte. Its 256 entry table is
+ * what lets BytePipeline fold a run of maps into a single lookup.
+ */
+public final class ByteMap implements ByteTransform {
+    private final byte[] table;
+
+    private ByteMap(byte[] table) {
+        this.table = table;
+    }
+
+    /**
+     * Builds the table by calling f once for each byte value 0-255.
+     */
+    public static ByteMap of(IntUnaryOperator f) {
+        byte[] table = new byte[256];
+        for (int c = 0; c < 256; c++) {
+            table[c] = (byte) f.applyAsInt(c);
+        }
+        return new ByteMap(table);
+    }
+
+    public static ByteMap replace(char from, char to) {
+        return of(c -> c == from ? to : c);
+    }
+
+    public int map(int c) {
+        return table[c & 0xFF] & 0xFF;
+    }
+
+    /**
+     * Returns one map that does this map, then after.
+     */
+    public ByteMap andThen(ByteMap after) {
+        byte[] fused = new byte[256];
+        for (int c = 0; c < 256; c++) {
+            fused[c] = after.table[table[c] & 0xFF];
+        }
+        return new ByteMap(fused);
+    }
+
+    @Override
+    public int transform(byte[] b, int offset, int len) {
+        byte[] table = this.table;
+        for (int i = offset, end = offset + len; i < end; i++) {
+            b[i] = table[b[i] & 0xFF];
+        }
+        return len;
+    }
+}
@@ -0,0 +1,71 @@
+package main.java.e003_byte_pipeline;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A decorator stack fused into one pass. Every run of adjacent ByteMaps is folded into
+ * a single table, and the stateful stages between them are kept in order. Instead of
+ * one stream per layer, decorate returns one stream that runs all the stages.
+ *
+ * Stateful stages keep their state in the stage object, so a pipeline that has any
+ * should only decorate one stream.
+ */
+public final class BytePipeline implements ByteTransform {
+    private final ByteTransform[] stages;
+
+    private BytePipeline(ByteTransform[] stages) {
+        this.stages = stages;
+    }
+
+    /**
+     * Takes the stages innermost first: the first one sees the bytes first, like the
+     * decorator closest to the source.
+     */
+    public static BytePipeline of(ByteTransform... transforms) {
+        List<ByteTransform> stages = new ArrayList<>();
+        ByteMap run = null;
+        for (ByteTransform transform : transforms) {
+            if (transform instanceof BytePipeline) {
+                for (ByteTransform stage : ((BytePipeline) transform).stages) {
+                    run = add(stages, run, stage);
+                }
+            } else {
+                run = add(stages, run, transform);
+            }
+        }
+        if (run != null) {
+            stages.add(run);
+        }
+        return new BytePipeline(stages.toArray(new ByteTransform[0]));
+    }
+
+    // folds maps into the current run and closes the run at any other stage
+    private static ByteMap add(List<ByteTransform> stages, ByteMap run, ByteTransform stage) {
+        if (stage instanceof ByteMap) {
+            return run == null ? (ByteMap) stage : run.andThen((ByteMap) stage);
+        }
+        if (run != null) {
+            stages.add(run);
+        }
+        stages.add(stage);
+        return null;
+    }
+
+    public int getStageCount() {
+        return stages.length;
+    }
+
+    public InputStream decorate(InputStream in) {
+        return new ByteTransformInputStream(in, stages);
+    }
+
+    @Override
+    public int transform(byte[] b, int offset, int len) {
+        for (int i = 0; i < stages.length && len > 0; i++) {
+            len = stages[i].transform(b, offset, len);
+        }
+        return len;
+    }
+}
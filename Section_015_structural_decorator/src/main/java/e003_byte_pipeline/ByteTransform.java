@@ -0,0 +1,13 @@
+package main.java.e003_byte_pipeline;
+
+/**
+ * One byte level stage of a decorator stack.
+ */
+public interface ByteTransform {
+
+    /**
+     * Transforms b[offset, offset + len) in place and returns how many bytes are left,
+     * starting at offset. A stage may drop bytes but never adds any.
+     */
+    int transform(byte[] b, int offset, int len);
+}
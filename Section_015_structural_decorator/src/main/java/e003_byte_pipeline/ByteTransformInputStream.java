@@ -0,0 +1,69 @@
+package main.java.e003_byte_pipeline;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A FilterInputStream that runs its stages, in order, over each block it reads.
+ * With one stage it is an ordinary decorator layer; BytePipeline gives it all the
+ * stages of a stack, so there is one layer and one read however deep the stack is.
+ */
+public class ByteTransformInputStream extends FilterInputStream {
+    private final ByteTransform[] stages;
+    private final byte[] single = new byte[1];
+
+    public ByteTransformInputStream(InputStream in, ByteTransform... stages) {
+        super(in);
+        this.stages = stages.clone();
+    }
+
+    @Override
+    public int read() throws IOException {
+        int result = read(single, 0, 1);
+        return result == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int offset, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        // a stage may drop a whole block, so keep reading until something is left
+        while (true) {
+            int result = in.read(b, offset, len);
+            if (result <= 0) {
+                return result;
+            }
+            for (int i = 0; i < stages.length && result > 0; i++) {
+                result = stages[i].transform(b, offset, result);
+            }
+            if (result > 0) {
+                return result;
+            }
+        }
+    }
+
+    // skipped bytes still have to pass through stateful stages
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int result = read(buffer, 0, (int) Math.min(n - skipped, buffer.length));
+            if (result == -1) {
+                break;
+            }
+            skipped += result;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
@@ -0,0 +1,45 @@
+package main.java.e003_byte_pipeline;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import main.java.e001_composite.LowerCase;
+
+public class Client {
+    public static void main(String[] args) {
+        byte[] log = "ERROR\tDisk  /dev/sda1   at 97%\r\nWARN\tUser 4711    Logged In\r\n".getBytes();
+
+        // the classic stack: one decorator per transform
+        InputStream stacked = new ByteArrayInputStream(log);
+        stacked = new ByteTransformInputStream(stacked, ByteMap.of(LowerCase.ASCII::toLowerCase));
+        stacked = new ByteTransformInputStream(stacked, ByteMap.replace('\t', ' '));
+        stacked = new ByteTransformInputStream(stacked, new DropByte('\r'));
+        stacked = new ByteTransformInputStream(stacked, new SqueezeSpaces());
+        stacked = new ByteTransformInputStream(stacked, ByteMap.of(c -> c >= '0' && c <= '9' ? '#' : c));
+        print("stacked", stacked);
+
+        // the same transforms in one pass; the first two maps become one table
+        BytePipeline pipeline = BytePipeline.of(
+                ByteMap.of(LowerCase.ASCII::toLowerCase),
+                ByteMap.replace('\t', ' '),
+                new DropByte('\r'),
+                new SqueezeSpaces(),
+                ByteMap.of(c -> c >= '0' && c <= '9' ? '#' : c));
+        System.out.println("5 transforms fused into " + pipeline.getStageCount() + " stages");
+        print("fused", pipeline.decorate(new ByteArrayInputStream(log)));
+    }
+
+    private static void print(String name, InputStream in) {
+        System.out.println("-- " + name);
+        try (InputStream stream = in) {
+            byte[] buffer = new byte[16];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                System.out.print(new String(buffer, 0, read));
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package main.java.e003_byte_pipeline;
+
+/**
+ * Removes every occurrence of one byte, e.g. the '\r' of CRLF line ends.
+ */
+public class DropByte implements ByteTransform {
+    private final byte dropped;
+
+    public DropByte(char dropped) {
+        this.dropped = (byte) dropped;
+    }
+
+    @Override
+    public int transform(byte[] b, int offset, int len) {
+        int out = offset;
+        for (int i = offset, end = offset + len; i < end; i++) {
+            // always store, only advance past kept bytes, so there is no branch to mispredict
+            byte c = b[i];
+            b[out] = c;
+            out += c != dropped ? 1 : 0;
+        }
+        return out - offset;
+    }
+}
@@ -0,0 +1,25 @@
+package main.java.e003_byte_pipeline;
+
+/**
+ * Collapses each run of spaces into one space. It remembers the last byte of the
+ * previous block, so a run split across two reads is still collapsed.
+ */
+public class SqueezeSpaces implements ByteTransform {
+    private int lastWasSpace;
+
+    @Override
+    public int transform(byte[] b, int offset, int len) {
+        int out = offset;
+        int space = lastWasSpace;
+        for (int i = offset, end = offset + len; i < end; i++) {
+            // isSpace is 1 for ' ' and 0 otherwise, worked out without a branch
+            byte c = b[i];
+            int isSpace = (((c & 0xFF) ^ ' ') - 1) >>> 31;
+            b[out] = c;
+            out += 1 - (isSpace & space);
+            space = isSpace;
+        }
+        lastWasSpace = space;
+        return out - offset;
+    }
+}